@@ -0,0 +1,73 @@
+import benchmark.ConverterTarget;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+// 벤치마크에서 호출하는 변환기 연결 클래스와 합성 SVID 목록 생성
+// 이름/단위는 실제 장비 목록처럼 영문, 한글, 반복 단위를 섞어서 생성
+public class SVIDBenchmarkTarget implements ConverterTarget {
+
+    private static final String[] UNITS = {"mm", "sec", "Torr", "%", "sccm", "degC", "V", "A", ""};
+    private static final String[] NAMES = {"ChamberPressure", "RF_Forward_Power", "챔버 압력", "히터 온도", "Gas_Flow_Ar", "StageTemp"};
+
+    @Override
+    public Path writeInput(int entries) throws IOException {
+        Path file = Files.createTempFile("svid-bench-" + entries + "-", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("S1F12\n");
+            writer.write("L[" + entries + "]\n");
+            for (int i = 0; i < entries; i++) {
+                writer.write("    L[3]\n");
+                writer.write("        U4[" + (1000 + i) + "]\n");
+                writer.write("        A[" + name(i) + "]\n");
+                writer.write("        A[" + unit(i) + "]\n");
+            }
+        }
+        return file;
+    }
+
+    @Override
+    public Object parseReader(Path input) throws IOException {
+        try (Reader reader = new InputStreamReader(Files.newInputStream(input), StandardCharsets.UTF_8)) {
+            return new SVIDListParser().parse(reader);
+        }
+    }
+
+    @Override
+    public Object parseMapped(Path input) throws IOException {
+        return MappedSVIDParser.parse(input, StandardCharsets.UTF_8, new SVIDListParser(), ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public Object createRecords(int entries) {
+        List<SVIDData> svidDataList = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            svidDataList.add(new SVIDData(String.valueOf(1000 + i), name(i), unit(i)));
+        }
+        return svidDataList;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void writeExcel(Object records, Path output, boolean streaming) throws IOException {
+        SVIDExcelWriter writer = new SVIDExcelWriter();
+        writer.setStreamingThreshold(streaming ? 0 : Integer.MAX_VALUE);
+        writer.write((List<SVIDData>) records, output.toString());
+    }
+
+    private static String name(int i) {
+        return NAMES[i % NAMES.length] + "_" + i;
+    }
+
+    private static String unit(int i) {
+        return UNITS[i % UNITS.length];
+    }
+}
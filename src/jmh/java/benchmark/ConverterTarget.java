@@ -0,0 +1,32 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// 벤치마크 대상 변환기
+// JMH 는 기본 패키지에 벤치마크를 둘 수 없고, 변환기 클래스는 기본 패키지에 있어 직접 참조할 수 없으므로
+// 기본 패키지의 SVIDBenchmarkTarget 을 이름으로 불러와 이 인터페이스로 호출
+public interface ConverterTarget {
+
+    // entries 건의 합성 S1F12 목록 파일
+    Path writeInput(int entries) throws IOException;
+
+    // 단일 스레드 Reader 경로
+    Object parseReader(Path input) throws IOException;
+
+    // 메모리 매핑 병렬 경로
+    Object parseMapped(Path input) throws IOException;
+
+    // 엑셀 출력용 레코드 목록
+    Object createRecords(int entries);
+
+    void writeExcel(Object records, Path output, boolean streaming) throws IOException;
+
+    static ConverterTarget load() {
+        try {
+            return (ConverterTarget) Class.forName("SVIDBenchmarkTarget").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("벤치마크 대상을 불러올 수 없습니다", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// 엑셀 출력 (XSSF 전체 메모리 방식과 SXSSF 스트리밍 방식)
+// 1M 건의 xssf 는 힙이 크게 필요하므로 필요하면 -p 로 제외하거나 -jvmArgsAppend 로 힙을 늘려서 실행
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Djava.awt.headless=true"})
+public class ExcelWriterBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int entries;
+
+    @Param({"xssf", "sxssf"})
+    public String mode;
+
+    private ConverterTarget target;
+    private Object records;
+    private Path output;
+
+    @Setup(Level.Trial)
+    public void createRecords() throws IOException {
+        target = ConverterTarget.load();
+        records = target.createRecords(entries);
+        output = Files.createTempFile("svid-bench-", ".xlsx");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteOutput() throws IOException {
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        target.writeExcel(records, output, "sxssf".equals(mode));
+        return Files.size(output);
+    }
+}
@@ -0,0 +1,57 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// SML 목록 파싱 (단일 스레드 Reader 경로와 메모리 매핑 병렬 경로)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class ParserBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int entries;
+
+    private ConverterTarget target;
+    private Path input;
+
+    @Setup(Level.Trial)
+    public void createInput() throws IOException {
+        target = ConverterTarget.load();
+        input = target.writeInput(entries);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteInput() throws IOException {
+        Files.deleteIfExists(input);
+    }
+
+    @Benchmark
+    public Object reader() throws IOException {
+        return target.parseReader(input);
+    }
+
+    @Benchmark
+    public Object mapped() throws IOException {
+        return target.parseMapped(input);
+    }
+}
@@ -0,0 +1,363 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// 여러 파일을 제한된 수의 작업 스레드에서 동시에 변환 (실행 중 취소 가능)
+public class BatchConverter {
+
+    // 파일별 진행 상황 통지 (작업 스레드에서 호출됨)
+    public interface Listener {
+        void fileStarted(File input);
+
+        // metrics 는 파일별 측정값 (단계별 시간, 할당량, 최대 힙), 측정하지 않으면 null
+        void fileConverted(File input, File output, int recordCount, ConversionMetrics metrics);
+
+        // error 는 변환 중 발생한 예외나 Error (메모리 부족, 너무 깊은 리스트의 스택 넘침 등)
+        void fileFailed(File input, Throwable error);
+
+        void fileSkipped(File input, File output);
+
+        void fileWarning(File input, String message);
+
+        // 통합 Excel 파일을 저장한 뒤 호출 (sheetCount 는 목차를 뺀 시트 수)
+        default void batchSaved(File output, int sheetCount) {
+        }
+    }
+
+    private final int threadCount;
+    // 입력 인코딩 (null 이면 파일마다 판별)
+    private final Charset charset;
+    private final SVIDExcelWriter excelWriter = new SVIDExcelWriter();
+    // 출력 디렉터리 (null 이면 입력 파일과 같은 위치)
+    private File outputDirectory;
+    // 목록 종류 (null 이면 파일마다 첫 항목으로 추정)
+    private NamelistProjection projection;
+    // 바뀌지 않은 입력을 건너뛰기 위한 캐시 (null 이면 항상 변환)
+    private ConversionCache cache;
+    private OutputFormat outputFormat = OutputFormat.XLSX;
+    // 파일마다 쓰기 스레드를 따로 두어 파싱과 출력을 겹쳐서 실행
+    private boolean pipelined;
+    // 모든 입력을 시트로 담는 통합 Excel 파일 (null 이면 파일마다 출력)
+    private File combinedOutput;
+    // 통합 Excel 파일의 첫 시트에 목차 추가
+    private boolean indexSheet;
+    // 변환 중인 통합 문서
+    private SVIDBatchWorkbook batchWorkbook;
+    // 파일별 측정값 수집 (단계 전환마다 시각과 스레드 할당량을 조회하므로 기본은 끔)
+    private boolean collectMetrics;
+
+    private volatile boolean cancelled;
+    private final List<Future<?>> futures = new ArrayList<>();
+
+    public BatchConverter(int threadCount, Charset charset) {
+        this.threadCount = Math.max(1, threadCount);
+        this.charset = charset;
+    }
+
+    // 코어 수만큼, 단 힙 사용량을 고려해 최대 4개
+    public static int defaultThreadCount() {
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public SVIDExcelWriter getExcelWriter() {
+        return excelWriter;
+    }
+
+    public File getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(File outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    public NamelistProjection getProjection() {
+        return projection;
+    }
+
+    public void setProjection(NamelistProjection projection) {
+        this.projection = projection;
+    }
+
+    public ConversionCache getCache() {
+        return cache;
+    }
+
+    public void setCache(ConversionCache cache) {
+        this.cache = cache;
+    }
+
+    public OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
+
+    public void setOutputFormat(OutputFormat outputFormat) {
+        this.outputFormat = outputFormat;
+    }
+
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    public void setPipelined(boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+
+    // 출력 내용에 영향을 주는 설정 (변환 기록에 함께 저장해서 설정이 바뀌면 다시 변환)
+    // 쓰기 스레드 (-p) 나 측정 여부는 출력이 같으므로 넣지 않음
+    public String getSettingsKey() {
+        return outputFormat.getExtension()
+                + ",charset=" + (charset != null ? charset.name() : "auto")
+                + ",type=" + (projection != null ? projection.name().toLowerCase() : "auto")
+                + ",autosize=" + excelWriter.isAutoSizeColumns();
+    }
+
+    public boolean isCollectMetrics() {
+        return collectMetrics;
+    }
+
+    public void setCollectMetrics(boolean collectMetrics) {
+        this.collectMetrics = collectMetrics;
+    }
+
+    public File getCombinedOutput() {
+        return combinedOutput;
+    }
+
+    // 설정하면 출력 형식, 출력 디렉터리, 캐시, 파이프라인 설정은 사용하지 않음
+    public void setCombinedOutput(File combinedOutput) {
+        this.combinedOutput = combinedOutput;
+    }
+
+    public boolean isIndexSheet() {
+        return indexSheet;
+    }
+
+    public void setIndexSheet(boolean indexSheet) {
+        this.indexSheet = indexSheet;
+    }
+
+    // 모든 파일이 끝날 때까지 대기, 취소된 경우 false
+    // 통합 Excel 파일을 쓰는 경우 저장에 실패하면 IOException (변환한 파일이 없으면 파일을 만들지 않음)
+    public boolean convert(List<File> files, Listener listener) throws InterruptedException, IOException {
+        batchWorkbook = combinedOutput != null ? new SVIDBatchWorkbook(combinedOutput, files, excelWriter, indexSheet) : null;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadCount, Math.max(1, files.size())), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "svid-convert-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        try {
+            synchronized (futures) {
+                futures.clear();
+                for (File file : files) {
+                    futures.add(executor.submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            convertOne(file, listener);
+                        }
+                    }));
+                }
+                if (cancelled) {
+                    cancelFutures();
+                }
+            }
+            executor.shutdown();
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (CancellationException e) {
+                    // 취소된 파일
+                } catch (ExecutionException e) {
+                    // convertOne 에서 이미 리스너로 전달됨 (Error 포함)
+                }
+            }
+            if (batchWorkbook != null && !cancelled) {
+                int sheetCount = batchWorkbook.save();
+                if (sheetCount > 0) {
+                    listener.batchSaved(combinedOutput, sheetCount);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            if (batchWorkbook != null) {
+                // 취소된 경우 아직 실행 중인 파일은 시트를 쓰지 못하고 실패함
+                batchWorkbook.abort();
+                batchWorkbook = null;
+            }
+            saveCache();
+        }
+        return !cancelled;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        synchronized (futures) {
+            cancelFutures();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private void saveCache() {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.save();
+        } catch (IOException e) {
+            System.err.println("변환 기록을 저장하지 못했습니다: " + cache.getManifestPath() + " - " + e.getMessage());
+        }
+    }
+
+    private void cancelFutures() {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private void convertOne(File file, Listener listener) {
+        if (cancelled) {
+            return;
+        }
+        try {
+            File output = batchWorkbook != null ? batchWorkbook.getOutput() : resolveOutputFile(file);
+            if (cache != null && batchWorkbook == null && cache.isUpToDate(file, output, getSettingsKey())) {
+                listener.fileSkipped(file, output);
+                return;
+            }
+
+            listener.fileStarted(file);
+            // 변환 도중 입력이 바뀌어도 다음 실행에서 다시 변환되도록 변환 전 상태를 기록
+            long size = file.length();
+            long modified = file.lastModified();
+            long hash = cache != null && batchWorkbook == null ? ConversionCache.hash(file.toPath()) : 0;
+            ConversionMetrics metrics = collectMetrics ? new ConversionMetrics(file) : null;
+            int recordCount = convertFile(file, output, new Consumer<String>() {
+                @Override
+                public void accept(String warning) {
+                    listener.fileWarning(file, warning);
+                }
+            }, metrics);
+            if (cache != null && batchWorkbook == null) {
+                cache.record(file, size, modified, hash, getSettingsKey(), output);
+            }
+            listener.fileConverted(file, output, recordCount, metrics);
+        } catch (IOException | RuntimeException e) {
+            if (!cancelled) {
+                listener.fileFailed(file, e);
+            }
+        } catch (Error e) {
+            // 이 파일만 실패로 알리고 Error 는 작업 스레드에 그대로 전달
+            listener.fileFailed(file, e);
+            throw e;
+        }
+    }
+
+    // 파싱하면서 바로 출력으로 넘김 (전체 목록을 메모리에 만들지 않음)
+    public int convertFile(File input, File output, Consumer<String> warningHandler) throws IOException {
+        return convertFile(input, output, warningHandler, null);
+    }
+
+    public int convertFile(File input, File output, Consumer<String> warningHandler, ConversionMetrics metrics) throws IOException {
+        SVIDSink sink;
+        if (batchWorkbook != null) {
+            // 통합 문서의 시트는 항목을 모아 두기만 하므로 쓰기 스레드를 따로 두지 않음
+            sink = batchWorkbook.open(input);
+        } else {
+            sink = outputFormat.open(output, excelWriter);
+            if (pipelined) {
+                sink = new PipelinedSink(sink);
+            }
+        }
+        return SVIDConverter.convert(parserFor(input), input.toPath(), sink, warningHandler, metrics);
+    }
+
+    // 입력 확장자로 읽는 방법 결정 (.xlsx 와 .svc 는 변환 결과를 다시 읽는 경우)
+    public SVIDParser parserFor(File input) {
+        String name = input.getName().toLowerCase();
+        if (name.endsWith(".xlsx")) {
+            return new XlsxFileParser();
+        }
+        if (name.endsWith(".svc")) {
+            return new ColumnarFileParser();
+        }
+        return new SMLFileParser(charset, projection);
+    }
+
+    public File resolveOutputFile(File input) {
+        File output = outputFileFor(input, outputFormat);
+        return outputDirectory == null ? output : new File(outputDirectory, output.getName());
+    }
+
+    public static File outputFileFor(File input) {
+        return outputFileFor(input, OutputFormat.XLSX);
+    }
+
+    // 출력 파일명 생성 (확장자 변경, 입력 파일을 덮어쓰지 않도록 같으면 뒤에 붙임)
+    public static File outputFileFor(File input, OutputFormat format) {
+        String inputPath = input.getAbsolutePath();
+        String lowerPath = inputPath.toLowerCase();
+        if (lowerPath.endsWith(".xlsx") || lowerPath.endsWith(".svc") || lowerPath.endsWith(".sml")) {
+            String outputPath = inputPath.substring(0, inputPath.lastIndexOf('.') + 1) + format.getExtension();
+            return new File(outputPath.equals(inputPath) ? inputPath + "." + format.getExtension() : outputPath);
+        }
+        String outputPath = inputPath.replace(".txt", "." + format.getExtension());
+        if (outputPath.equals(input.getAbsolutePath())) {
+            outputPath = input.getAbsolutePath() + "." + format.getExtension();
+        }
+        return new File(outputPath);
+    }
+
+    // 같은 디렉터리에 있는 다른 입력의 변환 결과로 보이는 파일인지
+    // 디렉터리나 glob 으로 입력을 찾을 때 이전 변환 결과를 다시 입력으로 쓰지 않도록 사용
+    // (원본 이름의 확장자를 바꾸거나 뒤에 붙인 이름, 이전 버전의 SML 출력 "<입력>.txt" 포함)
+    public static boolean isGeneratedOutput(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        if (dot <= 0) {
+            return false;
+        }
+        String extension = name.substring(dot + 1).toLowerCase();
+        String base = name.substring(0, dot);
+        File directory = file.getAbsoluteFile().getParentFile();
+        // 입력 이름 뒤에 붙인 경우 ("a.txt.xlsx", 이전 버전의 "a.txt.txt")
+        if (hasInputExtension(base) && new File(directory, base).isFile()) {
+            return extension.equals("txt") || isOutputExtension(extension);
+        }
+        // .txt 입력의 확장자를 바꾼 경우 ("a.txt" -> "a.xlsx")
+        return !extension.equals("txt") && isOutputExtension(extension) && new File(directory, base + ".txt").isFile();
+    }
+
+    private static boolean hasInputExtension(String name) {
+        String lower = name.toLowerCase();
+        return lower.endsWith(".txt") || lower.endsWith(".xlsx") || lower.endsWith(".svc") || lower.endsWith(".sml");
+    }
+
+    private static boolean isOutputExtension(String extension) {
+        for (OutputFormat format : OutputFormat.values()) {
+            if (format.getExtension().equals(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
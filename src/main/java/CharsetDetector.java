@@ -0,0 +1,212 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+// 입력 파일의 인코딩을 바이트 표본으로 판별 (BOM, UTF-8 유효성, CP949 바이트 쌍 순서)
+// 표본은 파일 앞부분과 파일 전체에 고르게 떨어진 창들로, 큰 파일도 읽는 양은 최대 SAMPLE_LIMIT
+// 표본에 ASCII 만 있으면 어느 인코딩으로 읽어도 같으므로 fallback 을 사용
+public class CharsetDetector {
+
+    // 한국어 장비 로그에서 쓰는 EUC-KR 확장 (EUC-KR 파일도 그대로 읽힘)
+    public static final Charset CP949 = Charset.forName("x-windows-949");
+
+    // 이 크기 이하의 파일은 전체를 표본으로 사용
+    private static final int SAMPLE_LIMIT = 1024 * 1024;
+    private static final int SAMPLE_WINDOW = 64 * 1024;
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final byte[] UTF16LE_BOM = {(byte) 0xFF, (byte) 0xFE};
+    private static final byte[] UTF16BE_BOM = {(byte) 0xFE, (byte) 0xFF};
+
+    // 판별 결과 (BOM 이 있으면 데이터는 BOM 다음부터)
+    public static class Detection {
+        private final Charset charset;
+        private final int bomLength;
+
+        Detection(Charset charset, int bomLength) {
+            this.charset = charset;
+            this.bomLength = bomLength;
+        }
+
+        public Charset getCharset() {
+            return charset;
+        }
+
+        public int getBomLength() {
+            return bomLength;
+        }
+
+        // 줄바꿈과 L[ 등 ASCII 문자가 ASCII 바이트 그대로인지 (바이트 단위로 경계를 찾을 수 있는지)
+        public boolean isAsciiCompatible() {
+            return CharsetDetector.isAsciiCompatible(charset);
+        }
+    }
+
+    // charset 이 null 이면 표본으로 판별하고 판별할 수 없으면 fallback 사용
+    // charset 을 지정해도 같은 인코딩의 BOM 은 건너뜀
+    public static Detection detect(FileChannel channel, Charset charset, Charset fallback) throws IOException {
+        long size = channel.size();
+        MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, SAMPLE_LIMIT));
+
+        Charset bomCharset = null;
+        int bomLength = 0;
+        if (startsWith(head, UTF8_BOM)) {
+            bomCharset = StandardCharsets.UTF_8;
+            bomLength = UTF8_BOM.length;
+        } else if (startsWith(head, UTF16LE_BOM)) {
+            bomCharset = StandardCharsets.UTF_16LE;
+            bomLength = UTF16LE_BOM.length;
+        } else if (startsWith(head, UTF16BE_BOM)) {
+            bomCharset = StandardCharsets.UTF_16BE;
+            bomLength = UTF16BE_BOM.length;
+        }
+        if (charset != null) {
+            boolean sameBom = bomCharset != null && (bomCharset.equals(charset)
+                    || (charset.equals(StandardCharsets.UTF_16) && !bomCharset.equals(StandardCharsets.UTF_8)));
+            return new Detection(sameBom ? bomCharset : charset, sameBom ? bomLength : 0);
+        }
+        if (bomCharset != null) {
+            return new Detection(bomCharset, bomLength);
+        }
+
+        Sample sample = new Sample();
+        sample.scan(head, true, size <= SAMPLE_LIMIT);
+        if (size > SAMPLE_LIMIT) {
+            // 앞부분 이후는 고르게 떨어진 창들 (마지막 창은 파일 끝)
+            int windows = (SAMPLE_LIMIT - SAMPLE_WINDOW) / SAMPLE_WINDOW;
+            long step = (size - SAMPLE_LIMIT) / windows;
+            for (int i = 1; i <= windows; i++) {
+                long start = i < windows ? SAMPLE_LIMIT + step * i - SAMPLE_WINDOW : size - SAMPLE_WINDOW;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start, SAMPLE_WINDOW);
+                sample.scan(window, false, start + SAMPLE_WINDOW == size);
+            }
+        }
+        Charset result = sample.decide();
+        return new Detection(result != null ? result : fallback, 0);
+    }
+
+    static boolean isAsciiCompatible(Charset charset) {
+        byte[] probe = "\nL[0]".getBytes(charset);
+        return probe.length == 5 && probe[0] == '\n' && probe[1] == 'L' && probe[2] == '[' && probe[3] == '0' && probe[4] == ']';
+    }
+
+    private static boolean startsWith(MappedByteBuffer buffer, byte[] prefix) {
+        if (buffer.limit() < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 표본 창들의 통계 (ASCII 가 아닌 바이트 수, UTF-8 과 CP949 로 해석할 수 없는 곳의 수)
+    static class Sample {
+        int nonAscii;
+        int utf8Errors;
+        int cp949Errors;
+
+        // 파일 중간에서 시작하는 창은 첫 줄바꿈 다음부터 (줄 시작은 UTF-8, CP949 모두 문자 경계)
+        // 창 끝에 잘린 문자는 파일 끝이 아니면 오류로 세지 않음
+        void scan(MappedByteBuffer buffer, boolean startOfFile, boolean endOfFile) {
+            int end = buffer.limit();
+            int start = 0;
+            if (!startOfFile) {
+                while (start < end && buffer.get(start) != '\n') {
+                    start++;
+                }
+                start++;
+            }
+            scanUtf8(buffer, start, end, endOfFile);
+            scanCp949(buffer, start, end, endOfFile);
+        }
+
+        private void scanUtf8(MappedByteBuffer buffer, int start, int end, boolean endOfFile) {
+            int i = start;
+            while (i < end) {
+                int b = buffer.get(i) & 0xFF;
+                if (b < 0x80) {
+                    i++;
+                    continue;
+                }
+                nonAscii++;
+                int length = b >= 0xC2 && b <= 0xDF ? 2 : b >= 0xE0 && b <= 0xEF ? 3 : b >= 0xF0 && b <= 0xF4 ? 4 : 0;
+                if (length == 0) {
+                    utf8Errors++;
+                    i++;
+                    continue;
+                }
+                if (i + length > end) {
+                    if (endOfFile) {
+                        utf8Errors++;
+                    }
+                    break;
+                }
+                boolean valid = true;
+                for (int j = 1; j < length; j++) {
+                    if ((buffer.get(i + j) & 0xC0) != 0x80) {
+                        valid = false;
+                        break;
+                    }
+                }
+                if (valid && length == 3) {
+                    int second = buffer.get(i + 1) & 0xFF;
+                    // 과잉 표현과 UTF-16 대리 영역
+                    valid = !(b == 0xE0 && second < 0xA0) && !(b == 0xED && second >= 0xA0);
+                }
+                if (!valid) {
+                    utf8Errors++;
+                    i++;
+                    continue;
+                }
+                i += length;
+            }
+        }
+
+        private void scanCp949(MappedByteBuffer buffer, int start, int end, boolean endOfFile) {
+            int i = start;
+            while (i < end) {
+                int b = buffer.get(i) & 0xFF;
+                if (b < 0x80) {
+                    i++;
+                    continue;
+                }
+                if (b == 0x80 || b == 0xFF) {
+                    cp949Errors++;
+                    i++;
+                    continue;
+                }
+                if (i + 1 >= end) {
+                    if (endOfFile) {
+                        cp949Errors++;
+                    }
+                    break;
+                }
+                int trail = buffer.get(i + 1) & 0xFF;
+                boolean valid = (trail >= 0x41 && trail <= 0x5A) || (trail >= 0x61 && trail <= 0x7A) || (trail >= 0x81 && trail <= 0xFE);
+                if (!valid) {
+                    cp949Errors++;
+                    i++;
+                    continue;
+                }
+                i += 2;
+            }
+        }
+
+        // ASCII 만 있으면 null
+        // 둘 다 맞으면 UTF-8 (CP949 텍스트가 우연히 올바른 UTF-8 이 되는 경우는 드묾)
+        Charset decide() {
+            if (nonAscii == 0) {
+                return null;
+            }
+            if (utf8Errors == 0) {
+                return StandardCharsets.UTF_8;
+            }
+            return cp949Errors < utf8Errors ? CP949 : StandardCharsets.UTF_8;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+import org.apache.poi.ss.usermodel.Sheet;
+
+// 행을 추가하면서 열별 최대 표시 폭을 기록하고 마지막에 열 너비를 한 번에 설정
+// (AWT 폰트 측정 없이 동작하므로 headless 환경에서도 사용 가능)
+public class ColumnWidthEstimator {
+
+    // Excel 열 너비 최대값 (255 글자)
+    private static final int MAX_WIDTH = 255;
+    // 셀 좌우 여백
+    private static final int PADDING = 2;
+
+    private final int[] maxWidths;
+
+    public ColumnWidthEstimator(int columnCount) {
+        this.maxWidths = new int[columnCount];
+    }
+
+    public void append(int column, String value) {
+        if (value == null) {
+            return;
+        }
+        int width = displayWidth(value);
+        if (width > maxWidths[column]) {
+            maxWidths[column] = width;
+        }
+    }
+
+    public int getMaxWidth(int column) {
+        return maxWidths[column];
+    }
+
+    public void apply(Sheet sheet) {
+        for (int i = 0; i < maxWidths.length; i++) {
+            int width = Math.min(MAX_WIDTH, maxWidths[i] + PADDING);
+            sheet.setColumnWidth(i, width * 256);
+        }
+    }
+
+    // 한글 등 전각 문자는 2칸, 나머지는 1칸으로 계산
+    public static int displayWidth(CharSequence value) {
+        int width = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x1100) {
+                width++;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                width += isWide(Character.toCodePoint(c, value.charAt(i + 1))) ? 2 : 1;
+                i++;
+            } else {
+                width += isWide(c) ? 2 : 1;
+            }
+        }
+        return width;
+    }
+
+    private static boolean isWide(int codePoint) {
+        return (codePoint >= 0x1100 && codePoint <= 0x115F)      // 한글 자모 (초성)
+                || (codePoint >= 0x2E80 && codePoint <= 0xA4CF)  // CJK 부수, 한글 호환 자모, 한자 등
+                || (codePoint >= 0xAC00 && codePoint <= 0xD7A3)  // 한글 음절
+                || (codePoint >= 0xF900 && codePoint <= 0xFAFF)  // CJK 호환 한자
+                || (codePoint >= 0xFE30 && codePoint <= 0xFE4F)  // CJK 호환 형태
+                || (codePoint >= 0xFF00 && codePoint <= 0xFF60)  // 전각 ASCII
+                || (codePoint >= 0xFFE0 && codePoint <= 0xFFE6)  // 전각 기호
+                || (codePoint >= 0x20000 && codePoint <= 0x3FFFD); // CJK 확장 한자
+    }
+}
@@ -0,0 +1,118 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+// ColumnarSink 가 만든 .svc 파일 읽기 (행 그룹 단위로 매핑해서 디코딩)
+public class ColumnarFileParser implements SVIDParser {
+
+    @Override
+    public void parse(Path input, Consumer<SVIDData> consumer, Consumer<String> warningHandler) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int trailerSize = 8 + ColumnarSink.MAGIC.length;
+            if (size < ColumnarSink.MAGIC.length + trailerSize || !hasMagic(channel, 0) || !hasMagic(channel, size - ColumnarSink.MAGIC.length)) {
+                throw new IOException("열 단위 바이너리 파일이 아닙니다: " + input);
+            }
+            long footerOffset = read(channel, size - trailerSize, 8).getLong();
+            if (footerOffset < ColumnarSink.MAGIC.length || footerOffset > size - trailerSize) {
+                throw new IOException("footer 위치가 잘못되었습니다: " + input);
+            }
+
+            ByteBuffer footer = read(channel, footerOffset, (int) (size - trailerSize - footerOffset));
+            int groupCount = footer.getInt();
+            for (int i = 0; i < groupCount; i++) {
+                long start = footer.getLong();
+                footer.getInt();
+                long end = i + 1 < groupCount ? footer.getLong(footer.position()) : footerOffset;
+                MappedByteBuffer group = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                readGroup(group, consumer);
+            }
+        }
+    }
+
+    private static void readGroup(ByteBuffer group, Consumer<SVIDData> consumer) throws IOException {
+        int rowCount = (int) readVarint(group);
+        String[] svids = readColumn(group, rowCount);
+        String[] names = readColumn(group, rowCount);
+        String[] units = readColumn(group, rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            consumer.accept(new SVIDData(svids[i], names[i], units[i]));
+        }
+    }
+
+    private static String[] readColumn(ByteBuffer buffer, int rowCount) throws IOException {
+        String[] values = new String[rowCount];
+        int encoding = buffer.get();
+        switch (encoding) {
+            case ColumnarSink.ENCODING_INTEGER:
+                long previous = 0;
+                for (int i = 0; i < rowCount; i++) {
+                    long zigzag = readVarint(buffer);
+                    previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                    values[i] = Long.toString(previous);
+                }
+                break;
+            case ColumnarSink.ENCODING_PLAIN:
+                for (int i = 0; i < rowCount; i++) {
+                    values[i] = readString(buffer);
+                }
+                break;
+            case ColumnarSink.ENCODING_DICTIONARY:
+                String[] dictionary = new String[(int) readVarint(buffer)];
+                for (int i = 0; i < dictionary.length; i++) {
+                    dictionary[i] = readString(buffer);
+                }
+                for (int i = 0; i < rowCount; i++) {
+                    values[i] = dictionary[(int) readVarint(buffer)];
+                }
+                break;
+            default:
+                throw new IOException("알 수 없는 열 인코딩입니다: " + encoding);
+        }
+        return values;
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[(int) readVarint(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean hasMagic(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = read(channel, position, ColumnarSink.MAGIC.length);
+        for (byte b : ColumnarSink.MAGIC) {
+            if (buffer.get() != b) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("파일이 잘렸습니다");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
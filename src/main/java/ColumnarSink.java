@@ -0,0 +1,212 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 열 단위 압축 바이너리 출력 (.svc)
+// 행을 ROW_GROUP_SIZE 개씩 모아 열별로 인코딩하므로 메모리는 행 그룹 하나 크기로 제한됨
+//
+// 파일 구조 (고정 길이 정수는 big-endian, varint 는 부호 없는 LEB128)
+//   "SVC1"
+//   행 그룹 * n: varint 행 수, SVID 열, NAME 열, UNIT 열
+//     열은 인코딩 1바이트 뒤에 값이 옴
+//       0 (정수): 첫 값부터 이전 값과의 차이를 zigzag varint 로 (SVID 가 모두 10진수일 때)
+//       1 (문자열): 값마다 varint 길이 + UTF-8
+//       2 (사전): varint 사전 크기, 사전 문자열 (varint 길이 + UTF-8), 값마다 varint 사전 번호
+//   footer: int 행 그룹 수, 그룹마다 long 시작 위치 + int 행 수, long 전체 행 수
+//   long footer 시작 위치, "SVC1"
+public class ColumnarSink implements SVIDSink {
+
+    static final byte[] MAGIC = {'S', 'V', 'C', '1'};
+    static final int ENCODING_INTEGER = 0;
+    static final int ENCODING_PLAIN = 1;
+    static final int ENCODING_DICTIONARY = 2;
+
+    private static final int ROW_GROUP_SIZE = 64 * 1024;
+
+    private final Path output;
+    private final Path temp;
+    private OutputStream out;
+    private long position;
+
+    private final String[] svids = new String[ROW_GROUP_SIZE];
+    private final String[] names = new String[ROW_GROUP_SIZE];
+    private final String[] units = new String[ROW_GROUP_SIZE];
+    private int rowCount;
+    private long totalRows;
+    private final List<Long> groupOffsets = new ArrayList<>();
+    private final List<Integer> groupRows = new ArrayList<>();
+    private final Encoder encoder = new Encoder();
+
+    public ColumnarSink(Path output) throws IOException {
+        this.output = output;
+        this.temp = output.resolveSibling(output.getFileName() + ".tmp");
+        this.out = Files.newOutputStream(temp);
+        out.write(MAGIC);
+        position = MAGIC.length;
+    }
+
+    @Override
+    public void write(SVIDData data) throws IOException {
+        svids[rowCount] = data.getSvid();
+        names[rowCount] = data.getName() != null ? data.getName() : "";
+        units[rowCount] = data.getUnit() != null ? data.getUnit() : "";
+        rowCount++;
+        if (rowCount == ROW_GROUP_SIZE) {
+            flushGroup();
+        }
+    }
+
+    private void flushGroup() throws IOException {
+        if (rowCount == 0) {
+            return;
+        }
+        encoder.reset();
+        encoder.writeVarint(rowCount);
+        writeIdColumn(svids, rowCount);
+        writeStringColumn(names, rowCount);
+        writeStringColumn(units, rowCount);
+
+        groupOffsets.add(position);
+        groupRows.add(rowCount);
+        position += encoder.size();
+        encoder.writeTo(out);
+        totalRows += rowCount;
+        rowCount = 0;
+    }
+
+    private void writeIdColumn(String[] values, int count) {
+        long[] numbers = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (!SVIDData.isCanonicalLong(values[i])) {
+                writeStringColumn(values, count);
+                return;
+            }
+            numbers[i] = Long.parseLong(values[i]);
+        }
+        encoder.write(ENCODING_INTEGER);
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            long delta = numbers[i] - previous;
+            encoder.writeVarint((delta << 1) ^ (delta >> 63));
+            previous = numbers[i];
+        }
+    }
+
+    // 서로 다른 값이 절반 이하이면 사전 인코딩 (UNIT 처럼 반복되는 값)
+    private void writeStringColumn(String[] values, int count) {
+        Map<String, Integer> dictionary = new HashMap<>();
+        int[] indexes = new int[count];
+        for (int i = 0; i < count && dictionary.size() <= count / 2; i++) {
+            Integer index = dictionary.get(values[i]);
+            if (index == null) {
+                index = dictionary.size();
+                dictionary.put(values[i], index);
+            }
+            indexes[i] = index;
+        }
+
+        if (dictionary.size() > count / 2) {
+            encoder.write(ENCODING_PLAIN);
+            for (int i = 0; i < count; i++) {
+                encoder.writeString(values[i]);
+            }
+            return;
+        }
+
+        String[] entries = new String[dictionary.size()];
+        for (Map.Entry<String, Integer> entry : dictionary.entrySet()) {
+            entries[entry.getValue()] = entry.getKey();
+        }
+        encoder.write(ENCODING_DICTIONARY);
+        encoder.writeVarint(entries.length);
+        for (String entry : entries) {
+            encoder.writeString(entry);
+        }
+        for (int i = 0; i < count; i++) {
+            encoder.writeVarint(indexes[i]);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out == null) {
+            return;
+        }
+        flushGroup();
+
+        long footerOffset = position;
+        encoder.reset();
+        encoder.writeInt(groupOffsets.size());
+        for (int i = 0; i < groupOffsets.size(); i++) {
+            encoder.writeLong(groupOffsets.get(i));
+            encoder.writeInt(groupRows.get(i));
+        }
+        encoder.writeLong(totalRows);
+        encoder.writeLong(footerOffset);
+        encoder.write(MAGIC, 0, MAGIC.length);
+        encoder.writeTo(out);
+
+        out.close();
+        out = null;
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void abort() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // 버리는 파일
+            }
+            out = null;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            // 임시 파일이 남아도 다음 변환에서 덮어씀
+        }
+    }
+
+    // 행 그룹 하나를 인코딩하는 버퍼
+    private static class Encoder extends ByteArrayOutputStream {
+
+        Encoder() {
+            super(1024 * 1024);
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+// 입력 파일의 크기, 수정 시각, 내용 해시와 변환 설정을 출력 파일과 함께 기록해서 바뀌지 않은 입력은 다시 변환하지 않음
+// manifest 는 한 줄에 "크기 \t 수정시각 \t 해시 \t 변환설정 \t 입력경로 \t 출력경로" 형식의 텍스트 파일
+public class ConversionCache {
+
+    public static final String DEFAULT_FILE_NAME = ".svid-manifest";
+
+    // 해시 계산 시 한 번에 매핑하는 크기
+    private static final int HASH_WINDOW = 64 * 1024 * 1024;
+
+    private final Path manifestPath;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    private static class Entry {
+        final long size;
+        final long modified;
+        final long hash;
+        final String settings;
+        final String output;
+
+        Entry(long size, long modified, long hash, String settings, String output) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+            this.settings = settings;
+            this.output = output;
+        }
+    }
+
+    public ConversionCache(Path manifestPath) {
+        this.manifestPath = manifestPath;
+    }
+
+    public static ConversionCache load(Path manifestPath) throws IOException {
+        ConversionCache cache = new ConversionCache(manifestPath);
+        if (!Files.isRegularFile(manifestPath)) {
+            return cache;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(manifestPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length != 6) {
+                    continue;
+                }
+                try {
+                    cache.entries.put(fields[4], new Entry(Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                            Long.parseUnsignedLong(fields[2], 16), fields[3], fields[5]));
+                } catch (NumberFormatException e) {
+                    // 손상된 줄은 무시 (해당 파일은 다시 변환됨)
+                }
+            }
+        }
+        return cache;
+    }
+
+    public Path getManifestPath() {
+        return manifestPath;
+    }
+
+    // 마지막 변환 이후 입력이 바뀌지 않았고, 같은 설정으로 변환한 출력 파일이 남아 있으면 true
+    // settings 는 출력 내용에 영향을 주는 변환 설정 (BatchConverter.getSettingsKey)
+    public boolean isUpToDate(File input, File output, String settings) throws IOException {
+        String key = keyOf(input);
+        Entry entry = entries.get(key);
+        if (entry == null || !settings.equals(entry.settings) || !entry.output.equals(keyOf(output)) || !output.isFile()) {
+            return false;
+        }
+        long size = input.length();
+        long modified = input.lastModified();
+        if (entry.size != size) {
+            return false;
+        }
+        if (entry.modified == modified) {
+            return true;
+        }
+        // 수정 시각만 바뀐 경우 (복사, 재수집 등) 내용 해시로 확인
+        if (hash(input.toPath()) != entry.hash) {
+            return false;
+        }
+        entries.put(key, new Entry(size, modified, entry.hash, entry.settings, entry.output));
+        dirty = true;
+        return true;
+    }
+
+    // 변환에 사용한 입력 상태와 설정을 기록 (변환 전에 얻은 크기, 시각, 해시)
+    public void record(File input, long size, long modified, long hash, String settings, File output) {
+        entries.put(keyOf(input), new Entry(size, modified, hash, settings, keyOf(output)));
+        dirty = true;
+    }
+
+    public synchronized void save() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+
+        List<String> keys = new ArrayList<>(entries.keySet());
+        Collections.sort(keys);
+        Path parent = manifestPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // 중간에 종료되어도 manifest 가 깨지지 않도록 임시 파일에 쓴 뒤 교체
+        Path temp = manifestPath.resolveSibling(manifestPath.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (String key : keys) {
+                Entry entry = entries.get(key);
+                if (hasSeparator(entry.settings) || hasSeparator(key) || hasSeparator(entry.output)) {
+                    continue;
+                }
+                writer.write(entry.size + "\t" + entry.modified + "\t" + Long.toHexString(entry.hash)
+                        + "\t" + entry.settings + "\t" + key + "\t" + entry.output);
+                writer.newLine();
+            }
+        }
+        Files.move(temp, manifestPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static boolean hasSeparator(String field) {
+        return field.indexOf('\t') >= 0 || field.indexOf('\n') >= 0;
+    }
+
+    private static String keyOf(File file) {
+        return file.getAbsoluteFile().toPath().normalize().toString();
+    }
+
+    // 파일 내용의 CRC32C (하드웨어 가속) 와 길이를 합친 64비트 해시
+    public static long hash(Path path) throws IOException {
+        CRC32C crc = new CRC32C();
+        long size;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+            for (long position = 0; position < size; position += HASH_WINDOW) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(HASH_WINDOW, size - position));
+                crc.update(window);
+            }
+        }
+        return (size << 32) ^ crc.getValue();
+    }
+}
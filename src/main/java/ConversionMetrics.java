@@ -0,0 +1,202 @@
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 파일 하나를 변환하는 동안의 측정값 (읽은 바이트, 항목 수, 행 수, 단계별 시간과 할당량, 최대 힙)
+// 변환 스레드가 단계를 바꿀 때마다 switchTo 를 호출하면 직전 단계에 시간과 할당량이 누적됨
+// 측정 자체에 비용이 들므로 필요할 때만 만들고 (BatchConverter.setCollectMetrics), 단계는 항목 묶음 단위로 바꿈
+// 할당량은 변환 스레드 기준 (병렬 파싱 풀 스레드의 할당은 포함되지 않음)
+public class ConversionMetrics {
+
+    public enum Stage {
+        // 입력 읽기와 파싱 (메모리 맵으로 읽으므로 읽기와 구분되지 않음)
+        PARSE("parse", "파싱"),
+        // 출력 행 생성 (Excel 은 셀 생성, 텍스트 출력은 버퍼 쓰기)
+        ROWS("rows", "행 생성"),
+        // 열 너비 계산 (autoSizeColumn 또는 추정값 적용)
+        COLUMN_WIDTH("column_width", "열 너비"),
+        // 파일 저장 (workbook.write, 임시 파일 교체)
+        SAVE("save", "저장");
+
+        private final String key;
+        private final String label;
+
+        Stage(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = heapPools();
+    // 동시에 측정 중인 파일 수 (모두 끝난 뒤 처음 시작하는 파일에서만 최대 힙을 초기화)
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+
+    private final File input;
+    private long bytesRead;
+    private int recordCount;
+    private int rowCount;
+    private final long[] stageNanos = new long[Stage.values().length];
+    private final long[] stageAllocated = new long[Stage.values().length];
+    private long wallNanos;
+    private long allocatedBytes;
+    private long peakHeapBytes;
+
+    private Stage current;
+    private long startNanos;
+    private long startAllocated;
+    private long markNanos;
+    private long markAllocated;
+
+    public ConversionMetrics(File input) {
+        this.input = input;
+    }
+
+    // 측정 시작 (변환 스레드에서 호출)
+    public void start() {
+        if (ACTIVE.getAndIncrement() == 0) {
+            for (MemoryPoolMXBean pool : HEAP_POOLS) {
+                pool.resetPeakUsage();
+            }
+        }
+        bytesRead = input.length();
+        startNanos = markNanos = System.nanoTime();
+        startAllocated = markAllocated = allocated();
+        current = null;
+    }
+
+    public void switchTo(Stage stage) {
+        long now = System.nanoTime();
+        long allocated = allocated();
+        if (current != null) {
+            stageNanos[current.ordinal()] += now - markNanos;
+            stageAllocated[current.ordinal()] += allocated - markAllocated;
+        }
+        current = stage;
+        markNanos = now;
+        markAllocated = allocated;
+    }
+
+    // 측정 종료 (실패한 변환도 호출해서 동시 측정 수를 맞춤)
+    public void finish() {
+        switchTo(null);
+        wallNanos = markNanos - startNanos;
+        allocatedBytes = markAllocated - startAllocated;
+        // 풀별 최대값의 합이므로 실제 동시 최대 사용량보다 약간 클 수 있고,
+        // 다른 파일과 겹쳐 변환하면 그 파일이 사용한 힙도 포함됨
+        long peak = 0;
+        for (MemoryPoolMXBean pool : HEAP_POOLS) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        peakHeapBytes = peak;
+        ACTIVE.decrementAndGet();
+    }
+
+    public void recordsParsed(int count) {
+        recordCount += count;
+    }
+
+    public void rowsWritten(int count) {
+        rowCount += count;
+    }
+
+    public File getInput() {
+        return input;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public long getStageNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    // 측정할 수 없는 JVM 에서는 -1
+    public long getStageAllocatedBytes(Stage stage) {
+        return THREADS != null ? stageAllocated[stage.ordinal()] : -1;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return THREADS != null ? allocatedBytes : -1;
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    // 로그 한 줄 요약
+    public String summary() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(seconds(wallNanos)).append("초 (");
+        for (Stage stage : Stage.values()) {
+            if (stage.ordinal() > 0) {
+                builder.append(", ");
+            }
+            builder.append(stage.getLabel()).append(' ').append(seconds(stageNanos[stage.ordinal()]));
+        }
+        builder.append("), 읽음 ").append(megabytes(bytesRead));
+        if (THREADS != null) {
+            builder.append(", 할당 ").append(megabytes(allocatedBytes));
+        }
+        builder.append(", 최대 힙 ").append(megabytes(peakHeapBytes));
+        return builder.toString();
+    }
+
+    static String seconds(long nanos) {
+        return String.format("%.3f", nanos / 1e9);
+    }
+
+    static String megabytes(long bytes) {
+        return String.format("%.1fMB", bytes / (1024.0 * 1024.0));
+    }
+
+    private long allocated() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        // HotSpot 이외의 JVM 이나 할당량 측정이 꺼진 경우는 측정하지 않음
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+}
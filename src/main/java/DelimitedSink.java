@@ -0,0 +1,108 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// CSV/TSV 출력 (UTF-8, 첫 줄은 헤더)
+// 항목을 받는 대로 버퍼에 바로 쓰므로 줄 문자열을 따로 만들지 않음
+// 구분자, 따옴표, 줄바꿈이 들어 있는 값만 RFC 4180 방식으로 따옴표로 감쌈
+public class DelimitedSink implements SVIDSink {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path output;
+    // 중간에 실패해도 이전 출력이 깨지지 않도록 임시 파일에 쓴 뒤 교체
+    private final Path temp;
+    private final char delimiter;
+    private Writer writer;
+
+    public DelimitedSink(Path output, char delimiter) throws IOException {
+        this(output, delimiter, "SVID", "NAME", "UNIT");
+    }
+
+    // 다른 열 구성의 표 (비교 결과 등) 를 쓸 때는 header 를 지정하고 writeRow 사용
+    public DelimitedSink(Path output, char delimiter, String... header) throws IOException {
+        this.output = output;
+        this.temp = output.resolveSibling(output.getFileName() + ".tmp");
+        this.delimiter = delimiter;
+        this.writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(temp), StandardCharsets.UTF_8), BUFFER_SIZE);
+        writeRow(header);
+    }
+
+    @Override
+    public void write(SVIDData data) throws IOException {
+        writeRow(data.getSvid(), data.getName(), data.getUnit());
+    }
+
+    public void writeRow(String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            writeField(values[i]);
+        }
+        writer.write('\n');
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuote(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                // 따옴표는 두 번 씀
+                writer.write(value, start, i + 1 - start);
+                start = i;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+
+    private boolean needsQuote(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        writer.close();
+        writer = null;
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void abort() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                // 버리는 파일
+            }
+            writer = null;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            // 임시 파일이 남아도 다음 변환에서 덮어씀
+        }
+    }
+}
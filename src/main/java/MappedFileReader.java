@@ -0,0 +1,87 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+// 파일을 창 단위로 메모리 매핑하고 CharsetDecoder 로 호출한 쪽의 버퍼에 바로 디코딩하는 Reader
+// InputStreamReader 와 달리 중간 byte[] 로 읽어 오는 복사가 없음
+// 채널은 호출한 쪽이 닫음
+public class MappedFileReader extends Reader {
+
+    private static final int WINDOW_SIZE = 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long end;
+    private final CharsetDecoder decoder;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private boolean done;
+    // 한 글자 자리에 읽은 대리 쌍의 뒤 글자
+    private int pendingChar = -1;
+
+    public MappedFileReader(FileChannel channel, long start, long end, Charset charset) throws IOException {
+        this.channel = channel;
+        this.end = end;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        map(start);
+    }
+
+    private void map(long position) throws IOException {
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, end - position));
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (pendingChar >= 0) {
+            cbuf[off] = (char) pendingChar;
+            pendingChar = -1;
+            return 1;
+        }
+        if (len == 1) {
+            // 대리 쌍은 두 글자 자리가 있어야 디코딩되므로 따로 읽어서 나눔
+            char[] pair = new char[2];
+            int count = read(pair, 0, 2);
+            if (count > 0) {
+                cbuf[off] = pair[0];
+                pendingChar = count == 2 ? pair[1] : -1;
+                return 1;
+            }
+            return count;
+        }
+        CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        while (!done && out.position() == off) {
+            boolean last = windowStart + window.limit() >= end;
+            CoderResult result = decoder.decode(window, out, last);
+            if (!result.isUnderflow()) {
+                // 출력 버퍼가 가득 참
+                break;
+            }
+            if (last) {
+                if (decoder.flush(out).isUnderflow()) {
+                    done = true;
+                }
+                break;
+            }
+            // 창 끝에 걸린 문자의 바이트부터 다음 창
+            map(windowStart + window.position());
+        }
+        int count = out.position() - off;
+        return count == 0 && done ? -1 : count;
+    }
+
+    @Override
+    public void close() {
+        done = true;
+    }
+}
@@ -0,0 +1,584 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+// 큰 SML 파일을 메모리 매핑한 뒤 항목 (트레이스는 메시지) 경계에서 청크로 나누어 ForkJoinPool 에서 병렬로 파싱
+// 결과는 파일 순서대로 합쳐짐
+public class MappedSVIDParser {
+
+    // 이 크기보다 작은 파일은 단일 스레드로 처리
+    public static final long PARALLEL_THRESHOLD = 8L * 1024 * 1024;
+    private static final long MIN_CHUNK_SIZE = 4L * 1024 * 1024;
+    private static final long MAX_CHUNK_SIZE = 32L * 1024 * 1024;
+    // 목록 종류를 판별하기 위해 먼저 변환하는 첫 청크의 크기
+    private static final long DETECT_CHUNK_SIZE = 64L * 1024;
+    // 경계 탐색 시 한 번에 매핑하는 크기
+    private static final int SCAN_WINDOW = 1024 * 1024;
+    // 항목 시작 줄 (들여쓰기 + L[n]) 의 최대 길이
+    private static final int MAX_ENTRY_PREFIX = 256;
+    // 트레이스 여부를 판단할 때 확인하는 파일 앞부분 크기
+    private static final int HEAD_PROBE = 1024 * 1024;
+    // 메시지 헤더 줄로 읽는 최대 길이
+    private static final int MAX_HEADER_LINE = 1024;
+
+    private static final byte[] ROOT_LIST_PREFIX = {'L', '['};
+
+    public static List<SVIDData> parse(Path path, Charset charset) throws IOException {
+        return parse(path, charset, new SVIDListParser());
+    }
+
+    public static List<SVIDData> parse(Path path, Charset charset, SVIDListParser parser) throws IOException {
+        return parse(path, charset, parser, ForkJoinPool.commonPool());
+    }
+
+    public static List<SVIDData> parse(Path path, Charset charset, SVIDListParser parser, ForkJoinPool pool) throws IOException {
+        List<SVIDData> svidDataList = new ArrayList<>();
+        parse(path, charset, parser, pool, svidDataList::add);
+        return svidDataList;
+    }
+
+    // parser 의 목록 종류 설정을 사용하고, 경고와 항목 수는 parser 에 모음
+    // 항목은 호출한 스레드에서 파일 순서대로 consumer 에 전달 (병렬일 때는 앞 청크가 끝나는 대로)
+    // charset 이 null 이면 파일마다 인코딩을 판별 (CharsetDetector)
+    public static void parse(Path path, Charset charset, SVIDListParser parser, ForkJoinPool pool,
+                             Consumer<SVIDData> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            CharsetDetector.Detection detection = CharsetDetector.detect(channel, charset, SVIDConverter.DEFAULT_CHARSET);
+            charset = detection.getCharset();
+            // BOM 다음부터가 데이터
+            long dataOffset = detection.getBomLength();
+
+            // UTF-16 등은 바이트 단위로 줄 경계를 찾을 수 없으므로 단일 스레드로 처리
+            if (size - dataOffset < PARALLEL_THRESHOLD || pool.getParallelism() < 2 || !detection.isAsciiCompatible()) {
+                parseSequential(channel, dataOffset, size, charset, parser, consumer);
+                return;
+            }
+
+            long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, size / (pool.getParallelism() * 4L)));
+
+            // 순차 파서와 같이 루트 리스트 앞에 메시지 헤더가 있는지로 판단하되 파일 앞부분 (HEAD_PROBE) 만 확인
+            long probeEnd = Math.min(size, dataOffset + HEAD_PROBE);
+            HeaderMatcher headerMatcher = new HeaderMatcher(false);
+            long rootLine = findLine(channel, dataOffset, probeEnd, new PrefixMatcher(ROOT_LIST_PREFIX, true), false);
+            long headerLine = findLine(channel, dataOffset, rootLine < 0 ? probeEnd : rootLine, headerMatcher, false);
+            if (rootLine < 0 && headerLine < 0) {
+                // 앞부분에 목록도 헤더도 없으면 나눌 기준이 없으므로 단일 스레드
+                parseSequential(channel, dataOffset, size, charset, parser, consumer);
+                return;
+            }
+            if (headerLine < 0) {
+                parseEntries(channel, dataOffset, rootLine, size, chunkSize, charset, parser, pool, consumer, path, null);
+                parser.checkEntryCount();
+                return;
+            }
+
+            // 루트 리스트 바로 앞의 헤더가 목록 응답 (S2F33 제외) 이면 그 본문은 항목 경계에서 나눔
+            // 헤더 하나에 응답 하나인 파일이 대부분이므로 본문이 끝날 때 (다음 헤더) 까지는 트레이스로 보지 않음
+            SECSMessageHeader reply = null;
+            if (rootLine >= 0) {
+                long lastHeader = headerLine;
+                long next;
+                while ((next = findLine(channel, lastHeader, rootLine, headerMatcher, true)) >= 0) {
+                    lastHeader = next;
+                }
+                reply = readHeader(channel, lastHeader, rootLine, charset);
+            }
+            NamelistProjection replyProjection = reply != null ? NamelistProjection.forMessage(reply.getStream(), reply.getFunction()) : null;
+            long traceStart = dataOffset;
+            if (replyProjection != null && replyProjection != NamelistProjection.RPTID
+                    && (parser.getProjection() == null || parser.getProjection() == replyProjection)) {
+                traceStart = parseEntries(channel, dataOffset, rootLine, size, chunkSize, charset, parser, pool, consumer, path, reply);
+                if (traceStart < 0) {
+                    return;
+                }
+            }
+            parseMessages(channel, traceStart, size, chunkSize, charset, parser, pool, consumer, path);
+        }
+    }
+
+    private static void parseSequential(FileChannel channel, long dataOffset, long size, Charset charset,
+                                        SVIDListParser parser, Consumer<SVIDData> consumer) throws IOException {
+        try (Reader reader = new MappedFileReader(channel, dataOffset, size, charset)) {
+            parser.parse(new SMLTokenizer(reader), consumer);
+        }
+    }
+
+    // 루트 리스트 아래 항목을 첫 항목과 같은 들여쓰기의 리스트 줄에서 나누어 변환
+    // reply 가 있으면 그 메시지의 본문으로 변환하고 (선언된 개수의 항목까지만 변환) 다음 메시지 헤더가 나오면 멈춤
+    // 다음 메시지 헤더의 위치를 반환 (없으면 -1)
+    private static long parseEntries(FileChannel channel, long dataOffset, long rootLine, long size, long chunkSize,
+                                     Charset charset, SVIDListParser parser, ForkJoinPool pool, Consumer<SVIDData> consumer,
+                                     Path path, SECSMessageHeader reply) throws IOException {
+        // 루트 리스트 다음 줄부터가 항목 영역
+        long dataStart = nextLineStart(channel, rootLine, size);
+        int declaredCount = readListSize(channel, rootLine, size);
+        int rootLineNumber = countLines(channel, dataOffset, dataStart);
+        parser.setLineCount(rootLineNumber);
+
+        // 순차 파서는 본문 리스트에 선언된 개수만큼 항목을 읽고 (형식이 맞지 않는 항목 포함) 나머지는 건너뜀
+        int firstEntry = parser.getEntryCount();
+        int entryLimit = reply != null && declaredCount >= 0 ? firstEntry + declaredCount : -1;
+        if (reply == null) {
+            parser.setDeclaredCount(declaredCount);
+        }
+
+        // 첫 항목과 같은 들여쓰기의 같은 리스트 줄에서만 나눔 (중첩 리스트 안에서 나누지 않도록)
+        // 들여쓰기가 없는 파일은 중첩 여부를 구분할 수 없으므로 나누지 않음
+        byte[] entryPrefix = readEntryPrefix(channel, dataStart, size);
+        PrefixMatcher entryMatcher = entryPrefix != null ? new PrefixMatcher(entryPrefix, false) : null;
+        NamelistProjection projection = reply != null ? NamelistProjection.forMessage(reply.getStream(), reply.getFunction())
+                : parser.getProjection();
+
+        List<ChunkTask> tasks = new ArrayList<>();
+        long start = dataStart;
+        if (projection == null) {
+            // 청크마다 따로 판별하면 결과가 달라질 수 있으므로 순차 파서와 같이 처음으로 판별되는 항목으로 정함
+            // 앞부분의 작은 청크를 먼저 변환해서 판별하고 나머지 청크는 모두 그 목록 종류로 변환
+            long end = entryMatcher != null && start + DETECT_CHUNK_SIZE < size
+                    ? findLine(channel, start + DETECT_CHUNK_SIZE, size, entryMatcher, true) : -1;
+            start = addChunk(tasks, channel, start, end < 0 ? size : end, charset, new SVIDListParser(), false, path);
+            ChunkTask first = tasks.get(0);
+            try {
+                first.invoke();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            projection = first.parser.getProjection();
+            if (projection == null && start < size) {
+                // 판별되는 항목이 없으면 나머지도 단일 스레드로 (판별될 때까지 순차 파서와 같게)
+                runChunks(tasks, pool, parser, consumer, -1);
+                SVIDListParser rest = new SVIDListParser();
+                try (Reader reader = new MappedFileReader(channel, start, size, charset)) {
+                    rest.parseEntries(new SMLTokenizer(reader), consumer);
+                }
+                parser.merge(rest);
+                return -1;
+            }
+        }
+        while (start < size) {
+            long end = entryMatcher != null && start + chunkSize < size
+                    ? findLine(channel, start + chunkSize, size, entryMatcher, true) : -1;
+            SVIDListParser chunkParser = new SVIDListParser(projection);
+            chunkParser.setMessageBody(reply != null);
+            start = addChunk(tasks, channel, start, end < 0 ? size : end, charset, chunkParser, false, path);
+        }
+
+        ChunkTask stopped = runChunks(tasks, pool, parser, consumer, entryLimit);
+        int entries = parser.getEntryCount() - firstEntry;
+        if (entryLimit >= 0 && entries < declaredCount) {
+            parser.warn(reply + " 본문 L[" + declaredCount + "] 의 항목이 " + entries + "개만 있습니다", rootLineNumber);
+        }
+        if (stopped == null) {
+            return -1;
+        }
+        // 멈춘 청크의 헤더 줄 위치 (청크 안의 줄 번호는 1부터)
+        long header = skipLines(channel, stopped.start, stopped.end, stopped.parser.getStoppedLine() - 1);
+        parser.setLineCount(countLines(channel, dataOffset, header));
+        return header;
+    }
+
+    // from 부터를 여러 메시지가 담긴 트레이스로 보고 메시지 헤더 줄에서 나누어 변환
+    private static void parseMessages(FileChannel channel, long from, long size, long chunkSize,
+                                      Charset charset, SVIDListParser parser, ForkJoinPool pool, Consumer<SVIDData> consumer,
+                                      Path path) throws IOException {
+        // 청크마다 따로 판별하지 않도록 첫 목록 응답으로 변환 방식을 미리 정함
+        NamelistProjection projection = parser.getProjection();
+        if (projection == null) {
+            HeaderMatcher replyMatcher = new HeaderMatcher(true);
+            if (findLine(channel, from, size, replyMatcher, false) < 0) {
+                return;
+            }
+            projection = replyMatcher.getProjection();
+        }
+        HeaderMatcher headerMatcher = new HeaderMatcher(false);
+        List<ChunkTask> tasks = new ArrayList<>();
+        long start = from;
+        while (start < size) {
+            long end = start + chunkSize < size ? findLine(channel, start + chunkSize, size, headerMatcher, true) : -1;
+            start = addChunk(tasks, channel, start, end < 0 ? size : end, charset, new SVIDListParser(projection), true, path);
+        }
+        runChunks(tasks, pool, parser, consumer, -1);
+    }
+
+    // 청크를 병렬로 실행하고 결과를 파일 순서대로 consumer 에 전달
+    // 메시지 본문 청크가 다음 메시지 헤더에서 멈추면 그 뒤 청크는 취소하고 멈춘 청크를 반환
+    // entryLimit 이 있으면 (parser 의 항목 수 기준) 그 개수를 넘는 청크는 남은 개수만큼만 다시 변환하고
+    // 그 뒤 청크의 결과는 버림 (다음 메시지 헤더를 찾는 데만 사용)
+    private static ChunkTask runChunks(List<ChunkTask> tasks, ForkJoinPool pool, SVIDListParser parser,
+                                       Consumer<SVIDData> consumer, int entryLimit) throws IOException {
+        // consumer 가 느려도 파싱 결과가 쌓이지 않도록 전달하지 않은 청크는 최대 window 개까지만 실행
+        int window = pool.getParallelism() * 2;
+        int submitted = 0;
+        while (submitted < Math.min(window, tasks.size())) {
+            submit(pool, tasks.get(submitted++));
+        }
+
+        // 파일 순서대로 병합
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                ChunkTask task = tasks.get(i);
+                List<SVIDData> records = task.join();
+                SVIDListParser chunkParser = task.parser;
+                if (entryLimit >= 0 && parser.getEntryCount() >= entryLimit) {
+                    records = Collections.emptyList();
+                    chunkParser = null;
+                } else if (entryLimit >= 0 && parser.getEntryCount() + chunkParser.getEntryCount() > entryLimit) {
+                    // 형식이 맞지 않는 본문에서만 생기므로 한 청크만 다시 변환
+                    chunkParser = new SVIDListParser(task.parser.getProjection());
+                    chunkParser.setMessageBody(true);
+                    chunkParser.setEntryLimit(entryLimit - parser.getEntryCount());
+                    records = task.parseWith(chunkParser);
+                }
+                for (SVIDData data : records) {
+                    consumer.accept(data);
+                }
+                if (chunkParser != null) {
+                    parser.merge(chunkParser);
+                }
+                // 전달한 청크 결과는 바로 놓아 주고 다음 청크를 시작
+                tasks.set(i, null);
+                if (task.parser.getStoppedLine() > 0) {
+                    return task;
+                }
+                if (submitted < tasks.size()) {
+                    submit(pool, tasks.get(submitted++));
+                }
+            }
+            return null;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            // 실행 중인 청크는 끝날 때까지 기다림 (호출한 쪽이 곧 채널을 닫음)
+            for (ChunkTask task : tasks) {
+                if (task != null) {
+                    task.cancel(false);
+                    task.quietlyJoin();
+                }
+            }
+        }
+    }
+
+    // 이미 변환한 청크 (목록 종류 판별용) 는 다시 실행하지 않음
+    private static void submit(ForkJoinPool pool, ChunkTask task) {
+        if (!task.isDone()) {
+            pool.execute(task);
+        }
+    }
+
+    private static long addChunk(List<ChunkTask> tasks, FileChannel channel, long start, long end, Charset charset,
+                                 SVIDListParser parser, boolean messages, Path path) throws IOException {
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IOException("경계 사이의 데이터가 너무 큽니다: " + path);
+        }
+        tasks.add(new ChunkTask(channel, start, end, charset, parser, messages));
+        return end;
+    }
+
+    // 청크 하나를 매핑하고 디코딩해서 항목을 변환
+    private static class ChunkTask extends RecursiveTask<List<SVIDData>> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private final Charset charset;
+        private final SVIDListParser parser;
+        // true 이면 메시지 헤더로 시작하는 트레이스 청크
+        private final boolean messages;
+
+        ChunkTask(FileChannel channel, long start, long end, Charset charset, SVIDListParser parser, boolean messages) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.charset = charset;
+            this.parser = parser;
+            this.messages = messages;
+        }
+
+        @Override
+        protected List<SVIDData> compute() {
+            return parseWith(parser);
+        }
+
+        // 같은 범위를 다른 설정의 파서로 변환 (호출한 스레드에서)
+        List<SVIDData> parseWith(SVIDListParser parser) {
+            try {
+                MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                CharsetDecoder decoder = charset.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                CharBuffer chars = decoder.decode(bytes);
+
+                List<SVIDData> svidDataList = new ArrayList<>();
+                Consumer<SVIDData> consumer = svidDataList::add;
+                SMLTokenizer tokenizer = new SMLTokenizer(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+                if (messages) {
+                    parser.parseMessages(new SECSMessageSplitter(tokenizer, parser::warn), consumer);
+                } else {
+                    parser.parseEntries(tokenizer, consumer);
+                }
+                return svidDataList;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // 첫 항목 줄의 "들여쓰기 + L[n]" 바이트 (들여쓰기가 없거나 리스트가 아니면 null)
+    private static byte[] readEntryPrefix(FileChannel channel, long dataStart, long size) throws IOException {
+        long entryLine = findLine(channel, dataStart, size, new PrefixMatcher(ROOT_LIST_PREFIX, true), false);
+        if (entryLine < 0) {
+            return null;
+        }
+        int length = (int) Math.min(MAX_ENTRY_PREFIX, size - entryLine);
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, entryLine, length);
+        int indent = 0;
+        while (indent < length && (window.get(indent) == ' ' || window.get(indent) == '\t')) {
+            indent++;
+        }
+        if (indent == 0) {
+            return null;
+        }
+        for (int i = indent + 2; i < length; i++) {
+            byte b = window.get(i);
+            if (b == ']') {
+                byte[] prefix = new byte[i + 1];
+                window.get(0, prefix);
+                return prefix;
+            }
+            if (b < '0' || b > '9') {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    // 줄의 L[n] 에서 n (알 수 없으면 -1)
+    private static int readListSize(FileChannel channel, long lineStart, long size) throws IOException {
+        int length = (int) Math.min(MAX_ENTRY_PREFIX, size - lineStart);
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, lineStart, length);
+        int i = 0;
+        while (i < length && window.get(i) != '[') {
+            i++;
+        }
+        long value = 0;
+        int digits = 0;
+        for (i++; i < length && window.get(i) >= '0' && window.get(i) <= '9' && digits < 10; i++, digits++) {
+            value = value * 10 + (window.get(i) - '0');
+        }
+        return digits == 0 || value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
+
+    private static int countLines(FileChannel channel, long from, long to) throws IOException {
+        int lines = 0;
+        for (long windowStart = from; windowStart < to; windowStart += SCAN_WINDOW) {
+            int windowSize = (int) Math.min(SCAN_WINDOW, to - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+            for (int i = 0; i < windowSize; i++) {
+                if (window.get(i) == '\n') {
+                    lines++;
+                }
+            }
+        }
+        return lines;
+    }
+
+    // 줄 하나 (window[start, end), 줄바꿈 제외) 가 찾는 줄인지
+    interface LineMatcher {
+        boolean matches(MappedByteBuffer window, int start, int end);
+    }
+
+    // 특정 바이트로 시작하는 줄
+    static class PrefixMatcher implements LineMatcher {
+        private final byte[] prefix;
+        private final boolean skipIndent;
+
+        PrefixMatcher(byte[] prefix, boolean skipIndent) {
+            this.prefix = prefix;
+            this.skipIndent = skipIndent;
+        }
+
+        @Override
+        public boolean matches(MappedByteBuffer window, int start, int end) {
+            int i = start;
+            while (skipIndent && i < end && (window.get(i) & 0xFF) <= ' ') {
+                i++;
+            }
+            if (i + prefix.length > end) {
+                return false;
+            }
+            for (int j = 0; j < prefix.length; j++) {
+                if (window.get(i + j) != prefix[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // SECS 메시지 헤더 줄 (SxFy 포함, 아이템 줄 제외)
+    // 매핑한 바이트에서 바로 확인 (헤더 패턴은 ASCII), 이름 버퍼를 쓰므로 스레드마다 따로 만듦
+    // namelistOnly 이면 목록 응답 메시지의 헤더만 찾고 그 변환 방식을 기록
+    static class HeaderMatcher implements LineMatcher {
+        // 가장 긴 SML 포맷명 (BOOLEAN)
+        private static final int MAX_FORMAT_NAME = 7;
+
+        private final boolean namelistOnly;
+        private final char[] name = new char[MAX_FORMAT_NAME];
+        private NamelistProjection projection;
+
+        HeaderMatcher(boolean namelistOnly) {
+            this.namelistOnly = namelistOnly;
+        }
+
+        NamelistProjection getProjection() {
+            return projection;
+        }
+
+        @Override
+        public boolean matches(MappedByteBuffer window, int start, int end) {
+            int limit = Math.min(end, start + MAX_ENTRY_PREFIX);
+            int first = start;
+            while (first < limit && (window.get(first) & 0xFF) <= ' ') {
+                first++;
+            }
+            int nameEnd = first;
+            while (nameEnd < limit && isAsciiLetterOrDigit(window.get(nameEnd))) {
+                nameEnd++;
+            }
+            if (nameEnd - first <= MAX_FORMAT_NAME) {
+                for (int i = first; i < nameEnd; i++) {
+                    name[i - first] = (char) window.get(i);
+                }
+                if (SECSFormat.lookup(name, 0, nameEnd - first) != null) {
+                    return false;
+                }
+            }
+            int s = SECSMessageHeader.findStreamFunction(window, first, limit);
+            if (s < 0) {
+                return false;
+            }
+            if (!namelistOnly) {
+                return true;
+            }
+            int i = s + 1;
+            int stream = 0;
+            while (window.get(i) != 'F') {
+                stream = stream * 10 + (window.get(i++) - '0');
+            }
+            i++;
+            int function = 0;
+            while (i < limit && window.get(i) >= '0' && window.get(i) <= '9') {
+                function = function * 10 + (window.get(i++) - '0');
+            }
+            projection = NamelistProjection.forMessage(stream, function);
+            return projection != null;
+        }
+
+        private static boolean isAsciiLetterOrDigit(byte b) {
+            return (b >= '0' && b <= '9') || (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z');
+        }
+    }
+
+    // lineStart 의 헤더 줄을 디코딩해서 해석 (헤더가 아니면 null)
+    private static SECSMessageHeader readHeader(FileChannel channel, long lineStart, long limit, Charset charset) throws IOException {
+        int length = (int) Math.min(MAX_HEADER_LINE, limit - lineStart);
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, lineStart, length);
+        int end = indexOfNewline(window, 0, length);
+        byte[] bytes = new byte[end < 0 ? length : end];
+        window.get(0, bytes);
+        char[] chars = new String(bytes, charset).toCharArray();
+        return SECSMessageHeader.parse(chars, 0, chars.length, 0);
+    }
+
+    // from 부터 줄 lines 개를 건너뛴 위치
+    private static long skipLines(FileChannel channel, long from, long limit, int lines) throws IOException {
+        int remaining = lines;
+        for (long windowStart = from; windowStart < limit && remaining > 0; windowStart += SCAN_WINDOW) {
+            int windowSize = (int) Math.min(SCAN_WINDOW, limit - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+            for (int i = 0; i < windowSize; i++) {
+                if (window.get(i) == '\n' && --remaining == 0) {
+                    return windowStart + i + 1;
+                }
+            }
+        }
+        return remaining > 0 ? limit : from;
+    }
+
+    // from 이후에서 matcher 에 맞는 첫 줄의 시작 위치 (limit 까지 없으면 -1)
+    // skipPartialLine 이 true 이면 from 이 걸쳐 있는 줄은 건너뜀
+    static long findLine(FileChannel channel, long from, long limit, LineMatcher matcher, boolean skipPartialLine) throws IOException {
+        long windowStart = from;
+        boolean skipLine = skipPartialLine;
+        while (windowStart < limit) {
+            int windowSize = (int) Math.min(SCAN_WINDOW, limit - windowStart);
+            boolean lastWindow = windowStart + windowSize >= limit;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+
+            // 다음 창의 시작 위치 (창 기준)
+            int resume = windowSize;
+            int lineStart = 0;
+            while (lineStart < windowSize) {
+                int newline = indexOfNewline(window, lineStart, windowSize);
+                if (newline < 0 && !lastWindow) {
+                    if (lineStart == 0) {
+                        // 창보다 긴 줄은 건너뜀
+                        skipLine = true;
+                    } else {
+                        // 줄이 창 경계에 걸침 - 다음 창에서 이 줄부터 다시 확인
+                        resume = lineStart;
+                    }
+                    break;
+                }
+                int lineEnd = newline < 0 ? windowSize : newline;
+                if (!skipLine && matcher.matches(window, lineStart, lineEnd)) {
+                    return windowStart + lineStart;
+                }
+                skipLine = false;
+                lineStart = lineEnd + 1;
+            }
+            windowStart += resume;
+        }
+        return -1;
+    }
+
+    private static int indexOfNewline(MappedByteBuffer buffer, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // position 이 속한 줄의 다음 줄 시작 위치
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        long windowStart = position;
+        while (windowStart < size) {
+            int windowSize = (int) Math.min(SCAN_WINDOW, size - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+            int newline = indexOfNewline(window, 0, windowSize);
+            if (newline >= 0) {
+                return windowStart + newline + 1;
+            }
+            windowStart += windowSize;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,199 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// 변환한 파일들의 측정값 모음 (명령행 요약 표, JSON, Prometheus 텍스트 형식 출력)
+// 작업 스레드에서 동시에 추가되므로 add 와 스냅샷은 동기화
+public class MetricsReport {
+
+    private final List<ConversionMetrics> files = new ArrayList<>();
+
+    public synchronized void add(ConversionMetrics metrics) {
+        files.add(metrics);
+    }
+
+    public synchronized List<ConversionMetrics> getFiles() {
+        return new ArrayList<>(files);
+    }
+
+    public synchronized boolean isEmpty() {
+        return files.isEmpty();
+    }
+
+    public synchronized void clear() {
+        files.clear();
+    }
+
+    // 파일별 한 줄과 합계 (시간은 초, 크기는 MB)
+    public void printTable(PrintStream out) {
+        List<ConversionMetrics> snapshot = getFiles();
+        int nameWidth = 5;
+        for (ConversionMetrics metrics : snapshot) {
+            nameWidth = Math.max(nameWidth, metrics.getInput().getName().length());
+        }
+        String format = "%-" + nameWidth + "s %9s %9s %9s %9s %9s %9s %9s %9s %10s %9s%n";
+        out.printf(format, "FILE", "READ MB", "RECORDS", "ROWS", "TOTAL s", "PARSE s", "ROWS s", "WIDTH s", "SAVE s", "ALLOC MB", "PEAK MB");
+
+        long bytes = 0;
+        long records = 0;
+        long rows = 0;
+        long wall = 0;
+        long allocated = 0;
+        long peak = 0;
+        long[] stages = new long[ConversionMetrics.Stage.values().length];
+        for (ConversionMetrics metrics : snapshot) {
+            out.printf(format, metrics.getInput().getName(), mb(metrics.getBytesRead()), metrics.getRecordCount(), metrics.getRowCount(),
+                    ConversionMetrics.seconds(metrics.getWallNanos()),
+                    ConversionMetrics.seconds(metrics.getStageNanos(ConversionMetrics.Stage.PARSE)),
+                    ConversionMetrics.seconds(metrics.getStageNanos(ConversionMetrics.Stage.ROWS)),
+                    ConversionMetrics.seconds(metrics.getStageNanos(ConversionMetrics.Stage.COLUMN_WIDTH)),
+                    ConversionMetrics.seconds(metrics.getStageNanos(ConversionMetrics.Stage.SAVE)),
+                    metrics.getAllocatedBytes() >= 0 ? mb(metrics.getAllocatedBytes()) : "-", mb(metrics.getPeakHeapBytes()));
+            bytes += metrics.getBytesRead();
+            records += metrics.getRecordCount();
+            rows += metrics.getRowCount();
+            wall += metrics.getWallNanos();
+            allocated += Math.max(0, metrics.getAllocatedBytes());
+            peak = Math.max(peak, metrics.getPeakHeapBytes());
+            for (ConversionMetrics.Stage stage : ConversionMetrics.Stage.values()) {
+                stages[stage.ordinal()] += metrics.getStageNanos(stage);
+            }
+        }
+        if (snapshot.size() > 1) {
+            // 파일을 동시에 변환하면 시간 합계는 실제 경과 시간보다 큼
+            out.printf(format, "TOTAL", mb(bytes), records, rows, ConversionMetrics.seconds(wall),
+                    ConversionMetrics.seconds(stages[ConversionMetrics.Stage.PARSE.ordinal()]),
+                    ConversionMetrics.seconds(stages[ConversionMetrics.Stage.ROWS.ordinal()]),
+                    ConversionMetrics.seconds(stages[ConversionMetrics.Stage.COLUMN_WIDTH.ordinal()]),
+                    ConversionMetrics.seconds(stages[ConversionMetrics.Stage.SAVE.ordinal()]),
+                    mb(allocated), mb(peak));
+        }
+    }
+
+    private static String mb(long bytes) {
+        return String.format("%.1f", bytes / (1024.0 * 1024.0));
+    }
+
+    // 확장자가 .prom 이면 Prometheus 텍스트, 나머지는 JSON
+    public void write(Path output) throws IOException {
+        boolean prometheus = output.getFileName().toString().toLowerCase().endsWith(".prom");
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(temp, StandardCharsets.UTF_8))) {
+            if (prometheus) {
+                writePrometheus(writer);
+            } else {
+                writeJson(writer);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        // node_exporter textfile 수집기가 쓰는 중인 파일을 읽지 않도록 교체
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public void writeJson(Writer writer) throws IOException {
+        List<ConversionMetrics> snapshot = getFiles();
+        writer.write("{\n  \"files\": [");
+        for (int i = 0; i < snapshot.size(); i++) {
+            ConversionMetrics metrics = snapshot.get(i);
+            writer.write(i > 0 ? ",\n" : "\n");
+            writer.write("    {\"file\": " + jsonString(metrics.getInput().getPath())
+                    + ", \"bytesRead\": " + metrics.getBytesRead()
+                    + ", \"records\": " + metrics.getRecordCount()
+                    + ", \"rows\": " + metrics.getRowCount()
+                    + ", \"wallNanos\": " + metrics.getWallNanos()
+                    + ", \"allocatedBytes\": " + metrics.getAllocatedBytes()
+                    + ", \"peakHeapBytes\": " + metrics.getPeakHeapBytes()
+                    + ", \"stages\": {");
+            for (ConversionMetrics.Stage stage : ConversionMetrics.Stage.values()) {
+                if (stage.ordinal() > 0) {
+                    writer.write(", ");
+                }
+                writer.write(jsonString(stage.getKey()) + ": {\"wallNanos\": " + metrics.getStageNanos(stage)
+                        + ", \"allocatedBytes\": " + metrics.getStageAllocatedBytes(stage) + "}");
+            }
+            writer.write("}}");
+        }
+        writer.write(snapshot.isEmpty() ? "]\n}\n" : "\n  ]\n}\n");
+    }
+
+    public void writePrometheus(Writer writer) throws IOException {
+        List<ConversionMetrics> snapshot = getFiles();
+        gauge(writer, "svid_convert_bytes_read", "Input bytes read per file");
+        for (ConversionMetrics metrics : snapshot) {
+            sample(writer, "svid_convert_bytes_read", metrics, null, metrics.getBytesRead());
+        }
+        gauge(writer, "svid_convert_records", "Records parsed per file");
+        for (ConversionMetrics metrics : snapshot) {
+            sample(writer, "svid_convert_records", metrics, null, metrics.getRecordCount());
+        }
+        gauge(writer, "svid_convert_rows", "Rows written per file");
+        for (ConversionMetrics metrics : snapshot) {
+            sample(writer, "svid_convert_rows", metrics, null, metrics.getRowCount());
+        }
+        gauge(writer, "svid_convert_seconds", "Wall time per file and stage (stage=\"total\" for the whole file)");
+        for (ConversionMetrics metrics : snapshot) {
+            sample(writer, "svid_convert_seconds", metrics, "total", metrics.getWallNanos() / 1e9);
+            for (ConversionMetrics.Stage stage : ConversionMetrics.Stage.values()) {
+                sample(writer, "svid_convert_seconds", metrics, stage.getKey(), metrics.getStageNanos(stage) / 1e9);
+            }
+        }
+        if (!snapshot.isEmpty() && snapshot.get(0).getAllocatedBytes() >= 0) {
+            gauge(writer, "svid_convert_allocated_bytes", "Bytes allocated by the converting thread per file and stage");
+            for (ConversionMetrics metrics : snapshot) {
+                sample(writer, "svid_convert_allocated_bytes", metrics, "total", metrics.getAllocatedBytes());
+                for (ConversionMetrics.Stage stage : ConversionMetrics.Stage.values()) {
+                    sample(writer, "svid_convert_allocated_bytes", metrics, stage.getKey(), metrics.getStageAllocatedBytes(stage));
+                }
+            }
+        }
+        gauge(writer, "svid_convert_peak_heap_bytes", "Peak heap usage while the file was converted");
+        for (ConversionMetrics metrics : snapshot) {
+            sample(writer, "svid_convert_peak_heap_bytes", metrics, null, metrics.getPeakHeapBytes());
+        }
+    }
+
+    private static void gauge(Writer writer, String name, String help) throws IOException {
+        writer.write("# HELP " + name + " " + help + "\n");
+        writer.write("# TYPE " + name + " gauge\n");
+    }
+
+    private static void sample(Writer writer, String name, ConversionMetrics metrics, String stage, double value) throws IOException {
+        writer.write(name);
+        writer.write("{file=\"" + labelValue(metrics.getInput().getPath()) + "\"");
+        if (stage != null) {
+            writer.write(",stage=\"" + stage + "\"");
+        }
+        writer.write("} ");
+        writer.write(value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value) : Double.toString(value));
+        writer.write('\n');
+    }
+
+    private static String labelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    static String jsonString(String value) {
+        StringBuilder builder = new StringBuilder(value.length() + 2);
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
@@ -0,0 +1,157 @@
+import java.util.function.Consumer;
+
+// SECS-II 아이템 트리에서 ID/NAME/UNIT 목록을 뽑아내는 방법 (메시지 종류별)
+public enum NamelistProjection {
+
+    // S1F12: L[3] {SVID, SVNAME, UNITS}
+    SVID {
+        @Override
+        public SVIDData project(SECSItem entry) {
+            if (!entry.isList() || entry.size() != 3 || entry.getChild(2).isList()) {
+                return null;
+            }
+            return record(entry.getChild(0), text(entry.getChild(1)), text(entry.getChild(2)));
+        }
+    },
+    // S2F30: L[6] {ECID, ECNAME, ECMIN, ECMAX, ECDEF, UNITS}
+    ECID {
+        @Override
+        public SVIDData project(SECSItem entry) {
+            if (!entry.isList() || entry.size() != 6) {
+                return null;
+            }
+            return record(entry.getChild(0), text(entry.getChild(1)), text(entry.getChild(5)));
+        }
+    },
+    // S1F24: L[3] {CEID, CENAME, L[a] {VID...}} - 세 번째 열에 연결된 VID 목록
+    CEID {
+        @Override
+        public SVIDData project(SECSItem entry) {
+            if (!entry.isList() || entry.size() != 3 || !entry.getChild(2).isList()) {
+                return null;
+            }
+            return record(entry.getChild(0), text(entry.getChild(1)), idList(entry.getChild(2)));
+        }
+    },
+    // S2F33 의 L[2] {RPTID, L[b] {VID...}} - 세 번째 열에 연결된 VID 목록
+    RPTID {
+        @Override
+        public SVIDData project(SECSItem entry) {
+            if (!entry.isList() || entry.size() != 2 || !entry.getChild(1).isList()) {
+                return null;
+            }
+            return record(entry.getChild(0), "", idList(entry.getChild(1)));
+        }
+
+        @Override
+        SECSItem entries(SECSItem body) {
+            // S2F33 본문: L[2] {DATAID, L[a] {L[2] {RPTID, L[b]}}}
+            if (body.isList() && body.size() == 2 && !body.getChild(0).isList() && body.getChild(1).isList()) {
+                return body.getChild(1);
+            }
+            return body;
+        }
+    };
+
+    // 항목 하나를 레코드로 변환, 형식이 맞지 않으면 null
+    public abstract SVIDData project(SECSItem entry);
+
+    // 메시지 본문에서 항목 리스트를 찾음
+    SECSItem entries(SECSItem body) {
+        return body;
+    }
+
+    // 메시지 본문의 항목 수 (항목 리스트가 아니면 본문 자체를 항목 하나로 셈)
+    public int countEntries(SECSItem body) {
+        SECSItem entries = entries(body);
+        return entries.isList() ? entries.size() : 1;
+    }
+
+    // 메시지 본문 전체를 변환, 형식이 맞지 않아 건너뛴 항목 수를 반환
+    public int projectBody(SECSItem body, Consumer<SVIDData> consumer) {
+        SECSItem entries = entries(body);
+        if (!entries.isList()) {
+            return 1;
+        }
+        int skipped = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            SVIDData data = project(entries.getChild(i));
+            if (data != null) {
+                consumer.accept(data);
+            } else {
+                skipped++;
+            }
+        }
+        return skipped;
+    }
+
+    // 첫 항목의 모양으로 목록 종류를 추정 (알 수 없으면 null)
+    public static NamelistProjection detect(SECSItem entry) {
+        if (!entry.isList()) {
+            return null;
+        }
+        if (entry.size() == 6) {
+            return ECID;
+        }
+        if (entry.size() == 3) {
+            return entry.getChild(2).isList() ? CEID : SVID;
+        }
+        if (entry.size() == 2 && entry.getChild(1).isList()) {
+            return RPTID;
+        }
+        return null;
+    }
+
+    // 목록이 들어 있는 메시지 종류 (해당 없으면 null)
+    public static NamelistProjection forMessage(int stream, int function) {
+        if (stream == 1 && function == 12) {
+            return SVID;
+        }
+        if (stream == 2 && function == 30) {
+            return ECID;
+        }
+        if (stream == 1 && function == 24) {
+            return CEID;
+        }
+        if (stream == 2 && function == 33) {
+            return RPTID;
+        }
+        return null;
+    }
+
+    public static NamelistProjection forName(String name) {
+        for (NamelistProjection projection : values()) {
+            if (projection.name().equalsIgnoreCase(name)) {
+                return projection;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 목록 종류입니다: " + name);
+    }
+
+    // ID 가 없으면 null (해당 항목은 건너뜀)
+    private static SVIDData record(SECSItem id, String name, String unit) {
+        if (!id.isScalarId()) {
+            return null;
+        }
+        return new SVIDData(id.valueToString(), name, unit);
+    }
+
+    private static String text(SECSItem item) {
+        return item.isText() ? item.getText() : "";
+    }
+
+    private static String idList(SECSItem list) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < list.size(); i++) {
+            SECSItem child = list.getChild(i);
+            if (child.isList()) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append(child.valueToString());
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,76 @@
+import java.io.File;
+import java.io.IOException;
+
+// 변환 결과 파일 형식
+public enum OutputFormat {
+    XLSX("xlsx", "Excel (.xlsx)", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet") {
+        @Override
+        public SVIDSink open(File output, SVIDExcelWriter excelWriter) {
+            return excelWriter.open(output.getAbsolutePath());
+        }
+    },
+    CSV("csv", "CSV (.csv)", "text/csv; charset=UTF-8") {
+        @Override
+        public SVIDSink open(File output, SVIDExcelWriter excelWriter) throws IOException {
+            return new DelimitedSink(output.toPath(), ',');
+        }
+    },
+    TSV("tsv", "TSV (.tsv)", "text/tab-separated-values; charset=UTF-8") {
+        @Override
+        public SVIDSink open(File output, SVIDExcelWriter excelWriter) throws IOException {
+            return new DelimitedSink(output.toPath(), '\t');
+        }
+    },
+    // 열 단위 압축 바이너리 (ColumnarSink 참고)
+    COLUMNAR("svc", "열 단위 바이너리 (.svc)", "application/octet-stream") {
+        @Override
+        public SVIDSink open(File output, SVIDExcelWriter excelWriter) throws IOException {
+            return new ColumnarSink(output.toPath());
+        }
+    },
+    // 장비 설정에 다시 넣을 수 있는 SML 텍스트 (S1F12 본문 형태)
+    // 입력 (.txt) 과 확장자가 같으면 디렉터리 변환에서 다시 입력으로 잡히므로 .sml 사용
+    SML("sml", "SML 텍스트 (.sml)", "text/plain; charset=UTF-8") {
+        @Override
+        public SVIDSink open(File output, SVIDExcelWriter excelWriter) throws IOException {
+            return new SMLSink(output.toPath(), SVIDConverter.DEFAULT_CHARSET);
+        }
+    };
+
+    private final String extension;
+    private final String description;
+    // HTTP 응답의 Content-Type
+    private final String contentType;
+
+    OutputFormat(String extension, String description, String contentType) {
+        this.extension = extension;
+        this.description = description;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    // 출력 파일 하나를 엶 (Excel 은 excelWriter 의 설정을 사용)
+    public abstract SVIDSink open(File output, SVIDExcelWriter excelWriter) throws IOException;
+
+    // 형식 이름 또는 확장자 (대소문자 무시)
+    public static OutputFormat forName(String name) {
+        for (OutputFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name) || format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 출력 형식입니다: " + name);
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
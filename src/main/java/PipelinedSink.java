@@ -0,0 +1,165 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// 파싱과 출력을 겹쳐서 실행하는 출력 래퍼
+// 파서 스레드는 항목을 묶음으로 제한된 크기의 큐에 넣고 쓰기 스레드가 꺼내서 delegate 에 씀
+// 큐가 가득 차면 (쓰기가 느리면) 파서 스레드가 기다리므로 메모리에 쌓이는 항목 수는 제한됨
+// 측정값의 행 생성 단계는 큐에 넣으며 기다린 시간이 됨 (실제 행 생성은 쓰기 스레드에서 실행)
+public class PipelinedSink implements SVIDSink {
+
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    // 쓰기 스레드 종료 표시
+    private static final SVIDData[] END = new SVIDData[0];
+    // 쓰기 스레드 상태를 확인하는 간격
+    private static final long POLL_MILLIS = 100;
+
+    private final SVIDSink delegate;
+    private final int batchSize;
+    private final BlockingQueue<SVIDData[]> queue;
+    private final Thread writerThread;
+    private SVIDData[] batch;
+    private int batchCount;
+    private ConversionMetrics metrics;
+    private volatile Throwable failure;
+    private boolean closed;
+
+    public PipelinedSink(SVIDSink delegate) {
+        this(delegate, DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public PipelinedSink(SVIDSink delegate, int batchSize, int queueCapacity) {
+        this.delegate = delegate;
+        this.batchSize = Math.max(1, batchSize);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batch = new SVIDData[this.batchSize];
+        this.writerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        }, "svid-writer-" + Thread.currentThread().getName());
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                SVIDData[] next = queue.take();
+                if (next == END) {
+                    return;
+                }
+                for (SVIDData data : next) {
+                    if (data == null) {
+                        break;
+                    }
+                    delegate.write(data);
+                }
+            }
+        } catch (InterruptedException e) {
+            // abort
+        } catch (IOException | RuntimeException | Error e) {
+            failure = e;
+        }
+    }
+
+    @Override
+    public void setMetrics(ConversionMetrics metrics) {
+        // delegate 의 close 는 이 스레드에서 실행되므로 그대로 전달
+        this.metrics = metrics;
+        delegate.setMetrics(metrics);
+    }
+
+    @Override
+    public void write(SVIDData data) throws IOException {
+        batch[batchCount++] = data;
+        if (batchCount == batchSize) {
+            put(batch);
+            batch = new SVIDData[batchSize];
+            batchCount = 0;
+        }
+    }
+
+    // 큐에 자리가 날 때까지 기다리되 쓰기 스레드가 실패하면 바로 중단
+    private void put(SVIDData[] items) throws IOException {
+        try {
+            checkWriter();
+            while (!queue.offer(items, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkWriter();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("변환이 중단되었습니다");
+        }
+    }
+
+    private void checkWriter() throws IOException {
+        Throwable error = failure;
+        if (error == null) {
+            return;
+        }
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        throw (Error) error;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (batchCount > 0) {
+            put(batch);
+        }
+        put(END);
+        batch = null;
+
+        // 남은 항목을 쓰는 동안은 행 생성 단계
+        if (metrics != null) {
+            metrics.switchTo(ConversionMetrics.Stage.ROWS);
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("변환이 중단되었습니다");
+        }
+        checkWriter();
+        if (metrics != null) {
+            metrics.switchTo(ConversionMetrics.Stage.SAVE);
+        }
+        // 쓰기 스레드가 끝난 뒤이므로 delegate 는 이 스레드에서 마무리
+        delegate.close();
+    }
+
+    @Override
+    public void abort() {
+        closed = true;
+        batch = null;
+        writerThread.interrupt();
+        // 쓰기 스레드가 delegate 를 쓰는 중에 정리하지 않도록 끝날 때까지 기다림
+        boolean interrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        queue.clear();
+        delegate.abort();
+    }
+}
@@ -0,0 +1,176 @@
+import org.apache.poi.ooxml.POIXMLDocumentPart;
+import org.apache.poi.ooxml.POIXMLRelation;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.streaming.GZIPSheetDataWriter;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+import org.apache.poi.xssf.usermodel.XSSFFactory;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 문자열만 담는 공유 문자열 표와 이 표를 쓰는 SXSSF 통합 문서 (POI 내부 구현에 기대는 부분은 이 클래스에만 둠)
+// POI 의 공유 문자열 표는 문자열마다 XMLBeans 객체를 만들고 SXSSF 의 공유 문자열 모드는 셀마다 XML 로 직렬화해서
+// 표를 검색하므로 (인라인보다 2배 이상 느림) 다음 두 가지를 바꿈
+// - 통합 문서의 공유 문자열 표를 이 표로 교체하고 저장할 때 writeTo 에서 sharedStrings.xml 을 직접 씀
+// - 시트는 인라인 모드로 쓰되 첫 열 (SVID, 대부분 서로 달라서 인라인) 이 아닌 문자열 셀은
+//   SheetDataWriter 의 보호 필드 _out 에 표의 번호로 씀
+// POI 버전이 바뀌어 이 구현이 맞지 않으면 createWorkbook 이 공개 API 인 SXSSF 공유 문자열 모드로 대신 만듦
+final class PlainSharedStrings extends SharedStringsTable {
+
+    // 교체에 필요한 POI 내부 구현이 있는지 (클래스를 처음 쓸 때 한 번 확인)
+    private static final boolean SUPPORTED = checkSupported();
+
+    private final List<String> values = new ArrayList<>();
+    private final Map<String, Integer> lookup = new HashMap<>();
+    private int references;
+
+    private PlainSharedStrings() {
+    }
+
+    // 모든 시트가 스타일과 공유 문자열 표를 함께 쓰는 스트리밍 통합 문서 (임시 파일은 gzip 압축)
+    static SXSSFWorkbook createWorkbook(int windowSize) {
+        if (SUPPORTED) {
+            PlainSharedStrings sharedStrings = new PlainSharedStrings();
+            XSSFWorkbook template = new XSSFWorkbook(new XSSFFactory() {
+                @Override
+                public POIXMLDocumentPart newDocumentPart(POIXMLRelation descriptor) {
+                    return descriptor == XSSFRelation.SHARED_STRINGS ? sharedStrings : super.newDocumentPart(descriptor);
+                }
+            });
+            // 팩토리로 만들지 않는 버전이면 표가 교체되지 않으므로 쓰지 않음
+            if (template.getSharedStringSource() == sharedStrings) {
+                return sharedStrings.newWorkbook(template, windowSize);
+            }
+            try {
+                template.close();
+            } catch (IOException e) {
+                // 파일 없이 만든 통합 문서
+            }
+        }
+        return new SXSSFWorkbook(null, windowSize, true, true);
+    }
+
+    private SXSSFWorkbook newWorkbook(XSSFWorkbook template, int windowSize) {
+        return new SXSSFWorkbook(template, windowSize, true, false) {
+            @Override
+            protected SheetDataWriter createSheetDataWriter() throws IOException {
+                return new GZIPSheetDataWriter() {
+                    @Override
+                    public void writeCell(int columnIndex, Cell cell) throws IOException {
+                        if (columnIndex == 0 || cell == null || cell.getCellType() != CellType.STRING) {
+                            super.writeCell(columnIndex, cell);
+                            return;
+                        }
+                        int index = add(cell.getStringCellValue());
+                        _out.write("<c r=\"");
+                        _out.write(new CellReference(cell.getRowIndex(), columnIndex).formatAsString());
+                        short style = cell.getCellStyle().getIndex();
+                        if (style != 0) {
+                            _out.write("\" s=\"");
+                            _out.write(Integer.toString(style & 0xFFFF));
+                        }
+                        _out.write("\" t=\"s\"><v>");
+                        _out.write(Integer.toString(index));
+                        _out.write("</v></c>");
+                    }
+                };
+            }
+        };
+    }
+
+    private int add(String value) {
+        references++;
+        Integer index = lookup.get(value);
+        if (index == null) {
+            index = values.size();
+            values.add(value);
+            lookup.put(value, index);
+        }
+        return index;
+    }
+
+    @Override
+    public int getCount() {
+        return references;
+    }
+
+    @Override
+    public int getUniqueCount() {
+        return values.size();
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        writer.write("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\""
+                + references + "\" uniqueCount=\"" + values.size() + "\">");
+        for (String value : values) {
+            boolean preserve = !value.isEmpty()
+                    && (Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(value.length() - 1)));
+            writer.write(preserve ? "<si><t xml:space=\"preserve\">" : "<si><t>");
+            writeEscaped(writer, value);
+            writer.write("</t></si>");
+        }
+        writer.write("</sst>");
+        // out 은 POI 가 닫음
+        writer.flush();
+    }
+
+    // XML 특수 문자를 바꾸고 XML 에 쓸 수 없는 제어 문자는 SXSSF 와 같이 ? 로 바꿈
+    private static void writeEscaped(Writer writer, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<':
+                    writer.write("&lt;");
+                    break;
+                case '>':
+                    writer.write("&gt;");
+                    break;
+                case '&':
+                    writer.write("&amp;");
+                    break;
+                case '\t':
+                case '\n':
+                case '\r':
+                    writer.write(c);
+                    break;
+                default:
+                    writer.write(c < ' ' || c == 0xFFFE || c == 0xFFFF ? '?' : c);
+            }
+        }
+    }
+
+    // SheetDataWriter 의 보호 필드 _out (Writer) 과 재정의할 메소드가 기대한 모양인지 확인
+    private static boolean checkSupported() {
+        try {
+            Field out = SheetDataWriter.class.getDeclaredField("_out");
+            if (!Writer.class.isAssignableFrom(out.getType()) || !Modifier.isProtected(out.getModifiers())) {
+                return false;
+            }
+            Method writeCell = SheetDataWriter.class.getMethod("writeCell", int.class, Cell.class);
+            Method writeTo = SharedStringsTable.class.getMethod("writeTo", OutputStream.class);
+            return !Modifier.isFinal(writeCell.getModifiers()) && !Modifier.isFinal(writeTo.getModifiers());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+}
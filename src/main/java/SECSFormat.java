@@ -0,0 +1,108 @@
+// SECS-II 아이템 포맷 (SML 표기명과 SEMI E5 포맷 코드)
+public enum SECSFormat {
+    LIST("L", 000),
+    BINARY("B", 010),
+    BOOLEAN("BOOLEAN", 011),
+    ASCII("A", 020),
+    JIS8("J", 021),
+    I8("I8", 030),
+    I1("I1", 031),
+    I2("I2", 032),
+    I4("I4", 034),
+    F8("F8", 040),
+    F4("F4", 044),
+    U8("U8", 050),
+    U1("U1", 051),
+    U2("U2", 052),
+    U4("U4", 054);
+
+    private final String smlName;
+    private final int formatCode;
+
+    SECSFormat(String smlName, int formatCode) {
+        this.smlName = smlName;
+        this.formatCode = formatCode;
+    }
+
+    public String getSmlName() {
+        return smlName;
+    }
+
+    public int getFormatCode() {
+        return formatCode;
+    }
+
+    public boolean isInteger() {
+        return this == I1 || this == I2 || this == I4 || this == I8
+                || this == U1 || this == U2 || this == U4 || this == U8;
+    }
+
+    public boolean isFloat() {
+        return this == F4 || this == F8;
+    }
+
+    // buf[start, end) 의 문자열을 SML 포맷명으로 해석 (String 생성 없음, 해당 없으면 null)
+    public static SECSFormat lookup(char[] buf, int start, int end) {
+        int length = end - start;
+        if (length == 1) {
+            switch (buf[start]) {
+                case 'L':
+                    return LIST;
+                case 'A':
+                    return ASCII;
+                case 'B':
+                    return BINARY;
+                case 'J':
+                    return JIS8;
+                default:
+                    return null;
+            }
+        }
+        if (length == 2) {
+            char kind = buf[start];
+            char size = buf[start + 1];
+            if (kind == 'U') {
+                switch (size) {
+                    case '1':
+                        return U1;
+                    case '2':
+                        return U2;
+                    case '4':
+                        return U4;
+                    case '8':
+                        return U8;
+                    default:
+                        return null;
+                }
+            }
+            if (kind == 'I') {
+                switch (size) {
+                    case '1':
+                        return I1;
+                    case '2':
+                        return I2;
+                    case '4':
+                        return I4;
+                    case '8':
+                        return I8;
+                    default:
+                        return null;
+                }
+            }
+            if (kind == 'F') {
+                if (size == '4') {
+                    return F4;
+                }
+                if (size == '8') {
+                    return F8;
+                }
+            }
+            return null;
+        }
+        if (length == 7 && buf[start] == 'B' && buf[start + 1] == 'O' && buf[start + 2] == 'O'
+                && buf[start + 3] == 'L' && buf[start + 4] == 'E' && buf[start + 5] == 'A' && buf[start + 6] == 'N') {
+            return BOOLEAN;
+        }
+        return null;
+    }
+}
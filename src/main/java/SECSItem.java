@@ -0,0 +1,166 @@
+// SECS-II 아이템 트리의 노드
+// 값은 포맷별로 하나의 배열에 보관 (L: SECSItem[], A/J: String, 정수: long[], 실수: double[], B/BOOLEAN: byte[])
+public final class SECSItem {
+
+    private static final SECSItem[] NO_CHILDREN = new SECSItem[0];
+    private static final long[] NO_LONGS = new long[0];
+    private static final double[] NO_DOUBLES = new double[0];
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final SECSFormat format;
+    private final Object value;
+
+    private SECSItem(SECSFormat format, Object value) {
+        this.format = format;
+        this.value = value;
+    }
+
+    public static SECSItem list(SECSItem... children) {
+        return new SECSItem(SECSFormat.LIST, children.length == 0 ? NO_CHILDREN : children);
+    }
+
+    public static SECSItem text(SECSFormat format, String text) {
+        if (format != SECSFormat.ASCII && format != SECSFormat.JIS8) {
+            throw new IllegalArgumentException("문자열 포맷이 아닙니다: " + format);
+        }
+        return new SECSItem(format, text);
+    }
+
+    public static SECSItem integers(SECSFormat format, long... values) {
+        if (!format.isInteger()) {
+            throw new IllegalArgumentException("정수 포맷이 아닙니다: " + format);
+        }
+        return new SECSItem(format, values.length == 0 ? NO_LONGS : values);
+    }
+
+    public static SECSItem floats(SECSFormat format, double... values) {
+        if (!format.isFloat()) {
+            throw new IllegalArgumentException("실수 포맷이 아닙니다: " + format);
+        }
+        return new SECSItem(format, values.length == 0 ? NO_DOUBLES : values);
+    }
+
+    public static SECSItem bytes(SECSFormat format, byte... values) {
+        if (format != SECSFormat.BINARY && format != SECSFormat.BOOLEAN) {
+            throw new IllegalArgumentException("바이트 포맷이 아닙니다: " + format);
+        }
+        return new SECSItem(format, values.length == 0 ? NO_BYTES : values);
+    }
+
+    public SECSFormat getFormat() {
+        return format;
+    }
+
+    public boolean isList() {
+        return format == SECSFormat.LIST;
+    }
+
+    public boolean isText() {
+        return format == SECSFormat.ASCII || format == SECSFormat.JIS8;
+    }
+
+    // 리스트의 자식 수, 문자열 길이 또는 배열 길이
+    public int size() {
+        switch (format) {
+            case LIST:
+                return ((SECSItem[]) value).length;
+            case ASCII:
+            case JIS8:
+                return ((String) value).length();
+            case F4:
+            case F8:
+                return ((double[]) value).length;
+            case BINARY:
+            case BOOLEAN:
+                return ((byte[]) value).length;
+            default:
+                return ((long[]) value).length;
+        }
+    }
+
+    public SECSItem getChild(int index) {
+        return ((SECSItem[]) value)[index];
+    }
+
+    public String getText() {
+        return (String) value;
+    }
+
+    public long getLong(int index) {
+        return ((long[]) value)[index];
+    }
+
+    public double getDouble(int index) {
+        return ((double[]) value)[index];
+    }
+
+    public byte getByte(int index) {
+        return ((byte[]) value)[index];
+    }
+
+    // ID 로 쓸 수 있는 단일 값 (정수 1개 또는 문자열)인지
+    public boolean isScalarId() {
+        return (format.isInteger() && size() == 1) || (isText() && size() > 0);
+    }
+
+    // 값을 SML 괄호 안의 표기로 변환 (리스트는 자식 수)
+    public String valueToString() {
+        switch (format) {
+            case LIST:
+                return Integer.toString(size());
+            case ASCII:
+            case JIS8:
+                return (String) value;
+            case F4:
+            case F8: {
+                double[] doubles = (double[]) value;
+                StringBuilder builder = new StringBuilder();
+                for (int i = 0; i < doubles.length; i++) {
+                    if (i > 0) {
+                        builder.append(' ');
+                    }
+                    builder.append(doubles[i]);
+                }
+                return builder.toString();
+            }
+            case BINARY: {
+                byte[] bytes = (byte[]) value;
+                StringBuilder builder = new StringBuilder();
+                for (int i = 0; i < bytes.length; i++) {
+                    if (i > 0) {
+                        builder.append(' ');
+                    }
+                    builder.append(String.format("0x%02X", bytes[i] & 0xFF));
+                }
+                return builder.toString();
+            }
+            case BOOLEAN: {
+                byte[] bytes = (byte[]) value;
+                StringBuilder builder = new StringBuilder();
+                for (int i = 0; i < bytes.length; i++) {
+                    if (i > 0) {
+                        builder.append(' ');
+                    }
+                    builder.append(bytes[i] != 0 ? "TRUE" : "FALSE");
+                }
+                return builder.toString();
+            }
+            default: {
+                long[] longs = (long[]) value;
+                StringBuilder builder = new StringBuilder();
+                for (int i = 0; i < longs.length; i++) {
+                    if (i > 0) {
+                        builder.append(' ');
+                    }
+                    builder.append(format == SECSFormat.U8 ? Long.toUnsignedString(longs[i]) : Long.toString(longs[i]));
+                }
+                return builder.toString();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return format.getSmlName() + "[" + valueToString() + "]";
+    }
+}
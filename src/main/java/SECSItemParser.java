@@ -0,0 +1,273 @@
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+
+// SMLTokenizer 의 토큰으로 SECS-II 아이템 트리를 만듦 (중첩 리스트, 모든 포맷, 배열 값)
+public class SECSItemParser {
+
+    private final SMLTokenizer tokenizer;
+    // (메시지, 줄 번호) 를 받는 경고 처리기
+    private final ObjIntConsumer<String> warningHandler;
+    // 리스트를 읽다가 이 조건에 맞는 줄 (예: 다음 메시지 헤더) 을 만나면 멈춤 (null 이면 멈추지 않음)
+    private final Predicate<SMLTokenizer> boundary;
+    private boolean stoppedAtBoundary;
+
+    public SECSItemParser(SMLTokenizer tokenizer, ObjIntConsumer<String> warningHandler) {
+        this(tokenizer, warningHandler, null);
+    }
+
+    public SECSItemParser(SMLTokenizer tokenizer, ObjIntConsumer<String> warningHandler, Predicate<SMLTokenizer> boundary) {
+        this.tokenizer = tokenizer;
+        this.warningHandler = warningHandler;
+        this.boundary = boundary;
+    }
+
+    // 마지막 readItem/skipItem 이 경계 줄에서 멈췄는지 (이 경우 토크나이저의 현재 토큰이 경계 줄)
+    public boolean isStoppedAtBoundary() {
+        return stoppedAtBoundary;
+    }
+
+    // 현재 토큰부터 아이템 하나를 읽음 (리스트이면 선언된 개수만큼 자식까지)
+    public SECSItem readItem() throws IOException {
+        stoppedAtBoundary = false;
+        return readCurrent();
+    }
+
+    // 현재 토큰부터 아이템 하나를 객체를 만들지 않고 건너뜀
+    public void skipItem() throws IOException {
+        stoppedAtBoundary = false;
+        skipCurrent();
+    }
+
+    private void skipCurrent() throws IOException {
+        if (!tokenizer.isList()) {
+            return;
+        }
+        int size = tokenizer.getListSize();
+        int count = 0;
+        while (count < size && !stoppedAtBoundary) {
+            if (!nextChildToken(tokenizer.getLineNumber(), size, count, false)) {
+                return;
+            }
+            skipCurrent();
+            count++;
+        }
+    }
+
+    private SECSItem readCurrent() throws IOException {
+        SECSFormat format = tokenizer.getFormat();
+        if (format == null) {
+            throw new IllegalStateException("현재 토큰이 아이템이 아닙니다");
+        }
+        switch (format) {
+            case LIST:
+                return readList();
+            case ASCII:
+            case JIS8:
+                return SECSItem.text(format, tokenizer.getValueLength() == 0 ? "" : tokenizer.valueAsString());
+            case F4:
+            case F8:
+                return SECSItem.floats(format, parseDoubles());
+            case BINARY:
+            case BOOLEAN:
+                return SECSItem.bytes(format, parseBytes(format));
+            default:
+                return SECSItem.integers(format, parseLongs(format));
+        }
+    }
+
+    private SECSItem readList() throws IOException {
+        int line = tokenizer.getLineNumber();
+        int size = tokenizer.getListSize();
+        if (size < 0) {
+            warn(line, "리스트 크기를 알 수 없습니다 (" + tokenizer.tokenAsString() + ")");
+            return SECSItem.list();
+        }
+
+        SECSItem[] children = new SECSItem[size];
+        int count = 0;
+        while (count < size && !stoppedAtBoundary) {
+            if (!nextChildToken(line, size, count, true)) {
+                return SECSItem.list(Arrays.copyOf(children, count));
+            }
+            children[count++] = readCurrent();
+        }
+        return count == size ? SECSItem.list(children) : SECSItem.list(Arrays.copyOf(children, count));
+    }
+
+    // 리스트의 다음 자식 토큰으로 이동, 입력이 끝나거나 경계 줄을 만나면 false
+    // (건너뛰는 아이템은 report 를 false 로 해서 경고를 남기지 않음)
+    private boolean nextChildToken(int line, int size, int count, boolean report) throws IOException {
+        while (true) {
+            if (!tokenizer.next()) {
+                if (report) {
+                    warn(line, "L[" + size + "] 의 항목이 " + count + "개만 있습니다");
+                }
+                return false;
+            }
+            if (tokenizer.isItem()) {
+                return true;
+            }
+            if (boundary != null && boundary.test(tokenizer)) {
+                if (report) {
+                    warn(line, "L[" + size + "] 의 항목이 " + count + "개만 있습니다");
+                }
+                stoppedAtBoundary = true;
+                return false;
+            }
+            if (report) {
+                warn(tokenizer.getLineNumber(), "아이템이 아닌 줄을 건너뜁니다 (" + tokenizer.tokenAsString() + ")");
+            }
+        }
+    }
+
+    private long[] parseLongs(SECSFormat format) {
+        char[] buf = tokenizer.getBuffer();
+        int end = tokenizer.getValueEnd();
+        long[] values = new long[countValues(buf, tokenizer.getValueStart(), end)];
+        int count = 0;
+        int i = skipSpaces(buf, tokenizer.getValueStart(), end);
+        while (i < end) {
+            int valueEnd = nextSpace(buf, i, end);
+            try {
+                values[count++] = parseLong(buf, i, valueEnd, format);
+            } catch (NumberFormatException e) {
+                count--;
+                warn(tokenizer.getLineNumber(), format.getSmlName() + " 값이 정수가 아니거나 범위를 벗어났습니다 ("
+                        + new String(buf, i, valueEnd - i) + ")");
+            }
+            i = skipSpaces(buf, valueEnd, end);
+        }
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    private double[] parseDoubles() {
+        char[] buf = tokenizer.getBuffer();
+        int end = tokenizer.getValueEnd();
+        double[] values = new double[countValues(buf, tokenizer.getValueStart(), end)];
+        int count = 0;
+        int i = skipSpaces(buf, tokenizer.getValueStart(), end);
+        while (i < end) {
+            int valueEnd = nextSpace(buf, i, end);
+            String text = new String(buf, i, valueEnd - i);
+            try {
+                values[count++] = Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                count--;
+                warn(tokenizer.getLineNumber(), "실수 값이 아닙니다 (" + text + ")");
+            }
+            i = skipSpaces(buf, valueEnd, end);
+        }
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    private byte[] parseBytes(SECSFormat format) {
+        char[] buf = tokenizer.getBuffer();
+        int end = tokenizer.getValueEnd();
+        byte[] values = new byte[countValues(buf, tokenizer.getValueStart(), end)];
+        int count = 0;
+        int i = skipSpaces(buf, tokenizer.getValueStart(), end);
+        while (i < end) {
+            int valueEnd = nextSpace(buf, i, end);
+            if (format == SECSFormat.BOOLEAN && (buf[i] == 'T' || buf[i] == 't')) {
+                values[count++] = 1;
+            } else if (format == SECSFormat.BOOLEAN && (buf[i] == 'F' || buf[i] == 'f')) {
+                values[count++] = 0;
+            } else {
+                try {
+                    values[count++] = (byte) parseLong(buf, i, valueEnd, SECSFormat.U1);
+                } catch (NumberFormatException e) {
+                    count--;
+                    warn(tokenizer.getLineNumber(), format.getSmlName() + " 값을 해석할 수 없습니다 ("
+                            + new String(buf, i, valueEnd - i) + ")");
+                }
+            }
+            i = skipSpaces(buf, valueEnd, end);
+        }
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    // 10진수 또는 0x 로 시작하는 16진수 (String 생성 없음)
+    // format 의 범위를 벗어나거나 U 포맷에 음수가 오면 NumberFormatException (U8 은 부호 없는 64비트로 저장)
+    static long parseLong(char[] buf, int start, int end, SECSFormat format) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+        int radix = 10;
+        if (i + 1 < end && buf[i] == '0' && (buf[i + 1] == 'x' || buf[i + 1] == 'X')) {
+            radix = 16;
+            i += 2;
+        }
+        if (i == end) {
+            throw new NumberFormatException();
+        }
+        // 절댓값의 최댓값 (부호 없는 비교)
+        long limit = magnitudeLimit(format, negative);
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = Character.digit(buf[i], radix);
+            if (digit < 0 || Long.compareUnsigned(result, Long.divideUnsigned(limit - digit, radix)) > 0) {
+                throw new NumberFormatException();
+            }
+            result = result * radix + digit;
+        }
+        return negative ? -result : result;
+    }
+
+    private static long magnitudeLimit(SECSFormat format, boolean negative) {
+        switch (format) {
+            case I1:
+                return negative ? 128 : Byte.MAX_VALUE;
+            case I2:
+                return negative ? 32768 : Short.MAX_VALUE;
+            case I4:
+                return negative ? 1L << 31 : Integer.MAX_VALUE;
+            case I8:
+                return negative ? Long.MIN_VALUE : Long.MAX_VALUE;
+            case U1:
+            case U2:
+            case U4:
+            case U8:
+                if (negative) {
+                    throw new NumberFormatException();
+                }
+                return format == SECSFormat.U1 ? 0xFFL : format == SECSFormat.U2 ? 0xFFFFL : format == SECSFormat.U4 ? 0xFFFFFFFFL : -1L;
+            default:
+                throw new IllegalArgumentException(format.getSmlName());
+        }
+    }
+
+    private static int countValues(char[] buf, int start, int end) {
+        int count = 0;
+        int i = skipSpaces(buf, start, end);
+        while (i < end) {
+            count++;
+            i = skipSpaces(buf, nextSpace(buf, i, end), end);
+        }
+        return count;
+    }
+
+    private static int skipSpaces(char[] buf, int i, int end) {
+        while (i < end && (buf[i] <= ' ' || buf[i] == ',')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int nextSpace(char[] buf, int i, int end) {
+        while (i < end && buf[i] > ' ' && buf[i] != ',') {
+            i++;
+        }
+        return i;
+    }
+
+    private void warn(int line, String message) {
+        if (warningHandler != null) {
+            warningHandler.accept(message, line);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+import java.nio.ByteBuffer;
+
+// 호스트 트레이스의 SECS 메시지 헤더 줄 (예: "2025-04-25 10:27:14.123 [Recv] S1F12 SystemBytes=1234")
+public class SECSMessageHeader {
+
+    public enum Direction {
+        HOST_TO_EQUIPMENT,
+        EQUIPMENT_TO_HOST,
+        UNKNOWN
+    }
+
+    // 트랜잭션 ID 앞에 오는 키워드 (소문자)
+    private static final String[] TRANSACTION_KEYS = {"systembytes", "system bytes", "sysbytes", "transactionid",
+            "transaction", "tid", "sb"};
+
+    private final int stream;
+    private final int function;
+    private final boolean waitBit;
+    private final Direction direction;
+    private final long transactionId;
+    private final int lineNumber;
+
+    public SECSMessageHeader(int stream, int function, boolean waitBit, Direction direction, long transactionId, int lineNumber) {
+        this.stream = stream;
+        this.function = function;
+        this.waitBit = waitBit;
+        this.direction = direction;
+        this.transactionId = transactionId;
+        this.lineNumber = lineNumber;
+    }
+
+    public int getStream() {
+        return stream;
+    }
+
+    public int getFunction() {
+        return function;
+    }
+
+    public boolean isWaitBit() {
+        return waitBit;
+    }
+
+    // 짝수 function 은 응답 메시지
+    public boolean isReply() {
+        return function % 2 == 0;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    // 트랜잭션 ID (System Bytes), 없으면 -1
+    public long getTransactionId() {
+        return transactionId;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    // 현재 토큰이 메시지 헤더 줄인지
+    public static boolean isHeader(SMLTokenizer tokenizer) {
+        return !tokenizer.isItem() && findStreamFunction(tokenizer.getBuffer(), tokenizer.getTokenStart(), tokenizer.getTokenEnd()) >= 0;
+    }
+
+    public static SECSMessageHeader parse(SMLTokenizer tokenizer) {
+        if (tokenizer.isItem()) {
+            return null;
+        }
+        return parse(tokenizer.getBuffer(), tokenizer.getTokenStart(), tokenizer.getTokenEnd(), tokenizer.getLineNumber());
+    }
+
+    // buf[start, end) 에서 SxFy 를 찾아 헤더로 해석 (헤더가 아니면 null)
+    public static SECSMessageHeader parse(char[] buf, int start, int end, int lineNumber) {
+        int s = findStreamFunction(buf, start, end);
+        if (s < 0) {
+            return null;
+        }
+        int i = s + 1;
+        int stream = 0;
+        while (buf[i] != 'F') {
+            stream = stream * 10 + (buf[i++] - '0');
+        }
+        i++;
+        int function = 0;
+        while (i < end && isDigit(buf[i])) {
+            function = function * 10 + (buf[i++] - '0');
+        }
+
+        // SxFy 다음의 독립된 "W" 는 wait bit
+        int w = i;
+        while (w < end && buf[w] == ' ') {
+            w++;
+        }
+        boolean waitBit = w < end && (buf[w] == 'W' || buf[w] == 'w') && (w + 1 == end || !isAlphanumeric(buf[w + 1]));
+
+        String line = new String(buf, start, end - start);
+        return new SECSMessageHeader(stream, function, waitBit, parseDirection(line), parseTransactionId(line), lineNumber);
+    }
+
+    // 앞뒤가 영숫자가 아닌 "S<숫자>F<숫자>" 의 위치 (없으면 -1)
+    static int findStreamFunction(char[] buf, int start, int end) {
+        for (int s = start; s < end - 3; s++) {
+            if (buf[s] != 'S' || (s > start && isAlphanumeric(buf[s - 1]))) {
+                continue;
+            }
+            int i = s + 1;
+            int streamDigits = 0;
+            while (i < end && isDigit(buf[i]) && streamDigits < 4) {
+                i++;
+                streamDigits++;
+            }
+            if (streamDigits == 0 || i >= end || buf[i] != 'F') {
+                continue;
+            }
+            i++;
+            int functionDigits = 0;
+            while (i < end && isDigit(buf[i]) && functionDigits < 4) {
+                i++;
+                functionDigits++;
+            }
+            if (functionDigits > 0 && (i == end || !isAlphanumeric(buf[i]))) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    private static Direction parseDirection(String line) {
+        String lower = line.toLowerCase();
+        if (lower.contains("h->e") || lower.contains("send") || lower.contains("sent")) {
+            return Direction.HOST_TO_EQUIPMENT;
+        }
+        if (lower.contains("e->h") || lower.contains("recv") || lower.contains("receive")) {
+            return Direction.EQUIPMENT_TO_HOST;
+        }
+        return Direction.UNKNOWN;
+    }
+
+    private static long parseTransactionId(String line) {
+        String lower = line.toLowerCase();
+        for (String key : TRANSACTION_KEYS) {
+            int index = lower.indexOf(key);
+            while (index >= 0) {
+                boolean wordStart = index == 0 || !isAlphanumeric(lower.charAt(index - 1));
+                int i = index + key.length();
+                if (wordStart && (i == lower.length() || !isAlphanumeric(lower.charAt(i)))) {
+                    while (i < lower.length() && (lower.charAt(i) == ' ' || lower.charAt(i) == '=' || lower.charAt(i) == ':')) {
+                        i++;
+                    }
+                    int radix = 10;
+                    if (lower.startsWith("0x", i)) {
+                        radix = 16;
+                        i += 2;
+                    }
+                    int digitsStart = i;
+                    while (i < lower.length() && Character.digit(lower.charAt(i), radix) >= 0 && i - digitsStart < 15) {
+                        i++;
+                    }
+                    if (i > digitsStart) {
+                        return Long.parseLong(lower.substring(digitsStart, i), radix);
+                    }
+                }
+                index = lower.indexOf(key, index + 1);
+            }
+        }
+        return -1;
+    }
+
+    // 메모리 매핑한 바이트에서 같은 규칙으로 찾음 (문자로 디코딩하지 않음, ASCII 호환 인코딩에서만 사용)
+    static int findStreamFunction(ByteBuffer buf, int start, int end) {
+        for (int s = start; s < end - 3; s++) {
+            if (buf.get(s) != 'S' || (s > start && isAlphanumeric(asChar(buf.get(s - 1))))) {
+                continue;
+            }
+            int i = s + 1;
+            int streamDigits = 0;
+            while (i < end && isDigit(asChar(buf.get(i))) && streamDigits < 4) {
+                i++;
+                streamDigits++;
+            }
+            if (streamDigits == 0 || i >= end || buf.get(i) != 'F') {
+                continue;
+            }
+            i++;
+            int functionDigits = 0;
+            while (i < end && isDigit(asChar(buf.get(i))) && functionDigits < 4) {
+                i++;
+                functionDigits++;
+            }
+            if (functionDigits > 0 && (i == end || !isAlphanumeric(asChar(buf.get(i))))) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    private static char asChar(byte b) {
+        return (char) (b & 0xFF);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return isDigit(c) || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    @Override
+    public String toString() {
+        return "S" + stream + "F" + function + (waitBit ? " W" : "")
+                + (transactionId >= 0 ? " (ID " + transactionId + ")" : "");
+    }
+}
@@ -0,0 +1,91 @@
+import java.io.IOException;
+import java.util.function.ObjIntConsumer;
+
+// 여러 메시지가 섞인 SECS 호스트 트레이스를 한 번의 스캔으로 메시지 단위로 나눔
+// 필요한 메시지의 본문만 읽고 나머지는 객체를 만들지 않고 건너뛰므로 메모리는 메시지 하나 크기로 제한됨
+public class SECSMessageSplitter {
+
+    private final SMLTokenizer tokenizer;
+    private final SECSItemParser itemParser;
+
+    private SECSMessageHeader header;
+    // 토크나이저의 현재 토큰을 아직 처리하지 않음 (앞에서 경계 줄을 만나 멈춘 경우)
+    private boolean pending;
+
+    public SECSMessageSplitter(SMLTokenizer tokenizer, ObjIntConsumer<String> warningHandler) {
+        this.tokenizer = tokenizer;
+        this.itemParser = new SECSItemParser(tokenizer, warningHandler, SECSMessageHeader::isHeader);
+    }
+
+    // 토크나이저의 현재 토큰 (헤더 줄) 부터 시작
+    public void resumeAtCurrentToken() {
+        pending = true;
+    }
+
+    public SMLTokenizer getTokenizer() {
+        return tokenizer;
+    }
+
+    // 다음 메시지 헤더로 이동 (현재 메시지에서 읽지 않은 본문은 건너뜀), 입력이 끝나면 false
+    public boolean nextMessage() throws IOException {
+        while (true) {
+            if (pending) {
+                pending = false;
+            } else if (!tokenizer.next()) {
+                header = null;
+                return false;
+            }
+
+            if (tokenizer.isItem()) {
+                itemParser.skipItem();
+                pending = itemParser.isStoppedAtBoundary();
+                continue;
+            }
+            SECSMessageHeader next = SECSMessageHeader.parse(tokenizer);
+            if (next != null) {
+                header = next;
+                return true;
+            }
+            // 타임스탬프 등 헤더가 아닌 줄은 무시
+        }
+    }
+
+    public SECSMessageHeader getHeader() {
+        return header;
+    }
+
+    // 현재 메시지 본문의 다음 아이템 토큰으로 이동, 다음 메시지 헤더나 입력 끝이면 false
+    public boolean nextBodyItem() throws IOException {
+        while (true) {
+            if (pending || !tokenizer.next()) {
+                return false;
+            }
+            if (tokenizer.isItem()) {
+                return true;
+            }
+            if (SECSMessageHeader.isHeader(tokenizer)) {
+                pending = true;
+                return false;
+            }
+            // 메시지 사이의 "<", ">", "." 같은 구분 줄은 무시
+        }
+    }
+
+    // 현재 아이템 토큰부터 아이템 하나를 읽음 (다음 메시지 헤더에서 멈출 수 있음)
+    public SECSItem readItem() throws IOException {
+        SECSItem item = itemParser.readItem();
+        pending = itemParser.isStoppedAtBoundary();
+        return item;
+    }
+
+    // 현재 아이템 토큰부터 아이템 하나를 건너뜀
+    public void skipItem() throws IOException {
+        itemParser.skipItem();
+        pending = itemParser.isStoppedAtBoundary();
+    }
+
+    // 마지막으로 읽은 아이템이 다음 메시지 헤더에서 멈췄는지 (현재 메시지 본문이 끝남)
+    public boolean isStopped() {
+        return pending;
+    }
+}
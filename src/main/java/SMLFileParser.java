@@ -0,0 +1,35 @@
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+// SML 텍스트 (SVID/ECID/CEID/RPTID 목록, 호스트 트레이스) 파서
+// 큰 파일은 MappedSVIDParser 로 병렬 처리
+public class SMLFileParser implements SVIDParser {
+
+    // 입력 인코딩 (null 이면 파일마다 판별)
+    private final Charset charset;
+    // 목록 종류 (null 이면 파일마다 추정)
+    private final NamelistProjection projection;
+    private final ForkJoinPool pool;
+
+    public SMLFileParser(Charset charset, NamelistProjection projection) {
+        this(charset, projection, ForkJoinPool.commonPool());
+    }
+
+    public SMLFileParser(Charset charset, NamelistProjection projection, ForkJoinPool pool) {
+        this.charset = charset;
+        this.projection = projection;
+        this.pool = pool;
+    }
+
+    @Override
+    public void parse(Path input, Consumer<SVIDData> consumer, Consumer<String> warningHandler) throws IOException {
+        SVIDListParser parser = new SVIDListParser(projection);
+        MappedSVIDParser.parse(input, charset, parser, pool, consumer);
+        for (String warning : parser.getWarnings()) {
+            warningHandler.accept(warning);
+        }
+    }
+}
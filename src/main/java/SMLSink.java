@@ -0,0 +1,105 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// SVID 목록을 SML 텍스트 (L[n] 아래 L[3] {SVID, NAME, UNIT}) 로 출력
+// 루트 리스트의 개수는 끝나야 알 수 있으므로 항목은 임시 파일에 쓰고 마지막에 루트 줄과 합침
+public class SMLSink implements SVIDSink {
+
+    private static final String ENTRY_INDENT = "    ";
+    private static final String ITEM_INDENT = "        ";
+    private static final long U4_MAX = 0xFFFFFFFFL;
+
+    private final Path output;
+    private final Path body;
+    private final Charset charset;
+    private Writer writer;
+    private int count;
+
+    public SMLSink(Path output, Charset charset) throws IOException {
+        this.output = output;
+        this.body = output.resolveSibling(output.getFileName() + ".body.tmp");
+        this.charset = charset;
+        this.writer = new BufferedWriter(Files.newBufferedWriter(body, charset), 64 * 1024);
+    }
+
+    @Override
+    public void write(SVIDData data) throws IOException {
+        writer.write(ENTRY_INDENT);
+        writer.write("L[3]\n");
+        writer.write(ITEM_INDENT);
+        writer.write(idItem(data.getSvid()));
+        writer.write('\n');
+        writeAscii(data.getName());
+        writeAscii(data.getUnit());
+        count++;
+    }
+
+    private void writeAscii(String value) throws IOException {
+        writer.write(ITEM_INDENT);
+        if (value == null || value.isEmpty()) {
+            // 빈 문자열은 값 없는 A
+            writer.write("A\n");
+            return;
+        }
+        writer.write("A[");
+        writer.write(value);
+        writer.write("]\n");
+    }
+
+    // 숫자 ID 는 크기에 맞는 정수 형식으로, 나머지는 A 로
+    private static String idItem(String svid) {
+        try {
+            long value = Long.parseLong(svid);
+            if (value >= 0) {
+                return (value <= U4_MAX ? "U4[" : "U8[") + svid + "]";
+            }
+            return (value >= Integer.MIN_VALUE ? "I4[" : "I8[") + svid + "]";
+        } catch (NumberFormatException e) {
+            return "A[" + svid + "]";
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        writer.close();
+        writer = null;
+
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            out.write(("L[" + count + "]\n").getBytes(charset));
+            Files.copy(body, out);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        } finally {
+            Files.deleteIfExists(body);
+        }
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void abort() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                // 버리는 파일
+            }
+            writer = null;
+        }
+        try {
+            Files.deleteIfExists(body);
+        } catch (IOException e) {
+            // 임시 파일이 남아도 다음 변환에서 덮어씀
+        }
+    }
+}
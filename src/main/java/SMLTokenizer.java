@@ -0,0 +1,321 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+// SML 텍스트를 한 번의 순방향 스캔으로 아이템 토큰(L[n], A[...], U4[...] 등)으로 분리
+// 토큰 값은 내부 버퍼의 위치로만 제공되므로 (중간 String 생성 없음) 다음 next() 호출 전까지만 유효함
+public class SMLTokenizer {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private char[] buf;
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private int lineNumber;
+    // fill() 시 보존해야 하는 시작 위치 (여러 줄에 걸친 토큰을 읽는 동안, 없으면 -1)
+    private int mark = -1;
+
+    // 현재 토큰 (format 이 null 이면 아이템이 아닌 일반 텍스트 줄)
+    private SECSFormat format;
+    private int tokenStart;
+    private int tokenEnd;
+    private int valueStart;
+    private int valueEnd;
+    // A[ 뒤에 닫는 ']' 가 같은 줄에 없음
+    private boolean unterminated;
+
+    public SMLTokenizer(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    public SMLTokenizer(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buf = new char[Math.max(bufferSize, 16)];
+    }
+
+    // 이미 메모리에 있는 문자 배열을 그대로 토큰화 (복사 없음, 여러 줄 문자열은 배열 안에서 이어 붙임)
+    public SMLTokenizer(char[] chars, int offset, int length) {
+        this.reader = null;
+        this.buf = chars;
+        this.pos = offset;
+        this.limit = offset + length;
+        this.eof = true;
+    }
+
+    // 다음 토큰으로 이동 (빈 줄은 건너뜀), 입력이 끝나면 false
+    public boolean next() throws IOException {
+        while (true) {
+            if (pos >= limit && eof) {
+                return false;
+            }
+            int lineEnd = scanLine();
+            int start = pos;
+            int end = lineEnd;
+            pos = lineEnd < limit ? lineEnd + 1 : lineEnd;
+            lineNumber++;
+
+            // 앞뒤 공백 제거 (trim 과 동일한 기준)
+            while (start < end && buf[start] <= ' ') {
+                start++;
+            }
+            while (end > start && buf[end - 1] <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                continue;
+            }
+            parseLine(start, end);
+            if (unterminated) {
+                continueAscii();
+            }
+            return true;
+        }
+    }
+
+    // 여러 줄에 걸친 A[...] 를 닫는 ']' 가 있는 줄까지 읽음
+    // 다음 아이템이 나오거나 입력이 끝날 때까지 닫히지 않으면 그때까지 읽은 내용을 값으로 사용
+    // 이어지는 줄은 앞뒤 공백 (들여쓰기, CRLF 의 '\r') 을 빼고 공백 하나로 이어서 값 바로 뒤로 옮김
+    // (로그의 들여쓰기나 줄바꿈 방식과 관계없이 같은 이름이 같은 값이 되도록)
+    private void continueAscii() throws IOException {
+        mark = tokenStart;
+        try {
+            while (pos < limit || !eof) {
+                int lineEnd = scanLine();
+                int start = pos;
+                int end = lineEnd;
+                while (start < end && buf[start] <= ' ') {
+                    start++;
+                }
+                while (end > start && buf[end - 1] <= ' ') {
+                    end--;
+                }
+                if (start < end && looksLikeItem(start, end)) {
+                    break;
+                }
+                pos = lineEnd < limit ? lineEnd + 1 : lineEnd;
+                lineNumber++;
+                if (start == end) {
+                    continue;
+                }
+
+                // 옮기는 위치는 항상 읽은 줄보다 앞 (사이에 줄바꿈이 있음)
+                int dest = valueEnd;
+                if (valueEnd > valueStart) {
+                    buf[dest++] = ' ';
+                }
+                int close = lastIndexOf(']', start, end);
+                System.arraycopy(buf, start, buf, dest, end - start);
+                tokenEnd = dest + end - start;
+                if (close >= 0) {
+                    valueEnd = dest + close - start;
+                    return;
+                }
+                valueEnd = tokenEnd;
+            }
+        } finally {
+            mark = -1;
+            unterminated = false;
+        }
+    }
+
+    private boolean looksLikeItem(int start, int end) {
+        int nameEnd = start;
+        while (nameEnd < end && Character.isLetterOrDigit(buf[nameEnd])) {
+            nameEnd++;
+        }
+        return SECSFormat.lookup(buf, start, nameEnd) != null && (nameEnd == end || buf[nameEnd] == '[');
+    }
+
+    // 현재 위치부터 줄 끝('\n') 위치를 찾음, 필요하면 버퍼를 채움
+    private int scanLine() throws IOException {
+        int scan = pos;
+        while (true) {
+            for (; scan < limit; scan++) {
+                if (buf[scan] == '\n') {
+                    return scan;
+                }
+            }
+            if (eof) {
+                return limit;
+            }
+            scan -= fill();
+        }
+    }
+
+    // 남은 데이터를 버퍼 앞으로 옮기고 Reader 에서 더 읽음, 앞으로 이동한 거리를 반환
+    private int fill() throws IOException {
+        int shift = mark >= 0 ? mark : pos;
+        if (shift > 0) {
+            System.arraycopy(buf, shift, buf, 0, limit - shift);
+            limit -= shift;
+            pos -= shift;
+            if (mark >= 0) {
+                mark -= shift;
+            }
+            tokenStart -= shift;
+            tokenEnd -= shift;
+            valueStart -= shift;
+            valueEnd -= shift;
+        }
+        if (limit == buf.length) {
+            // 한 줄이 버퍼보다 긴 경우
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        int n = reader == null ? -1 : reader.read(buf, limit, buf.length - limit);
+        if (n < 0) {
+            eof = true;
+        } else {
+            limit += n;
+        }
+        return shift;
+    }
+
+    private void parseLine(int start, int end) {
+        tokenStart = start;
+        tokenEnd = end;
+
+        int nameEnd = start;
+        while (nameEnd < end && Character.isLetterOrDigit(buf[nameEnd])) {
+            nameEnd++;
+        }
+        format = SECSFormat.lookup(buf, start, nameEnd);
+
+        if (format != null && nameEnd < end && buf[nameEnd] == '[') {
+            valueStart = nameEnd + 1;
+            // A[...] 는 값 안에 ']' 가 있을 수 있으므로 마지막 ']' 까지, 나머지는 첫 번째 ']' 까지
+            int close = format == SECSFormat.ASCII ? lastIndexOf(']', valueStart, end) : indexOf(']', valueStart, end);
+            if (close >= 0) {
+                valueEnd = close;
+            } else if (format == SECSFormat.ASCII) {
+                // 다음 줄로 이어지는 문자열
+                valueEnd = end;
+                unterminated = true;
+            } else {
+                valueEnd = valueStart;
+            }
+        } else if (format != null && nameEnd == end) {
+            // 값이 없는 아이템 (예: "A")
+            valueStart = end;
+            valueEnd = end;
+        } else {
+            format = null;
+            valueStart = start;
+            valueEnd = end;
+        }
+    }
+
+    private int indexOf(char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buf[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int lastIndexOf(char c, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (buf[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public SECSFormat getFormat() {
+        return format;
+    }
+
+    public boolean isItem() {
+        return format != null;
+    }
+
+    public boolean isList() {
+        return format == SECSFormat.LIST;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public char[] getBuffer() {
+        return buf;
+    }
+
+    public int getTokenStart() {
+        return tokenStart;
+    }
+
+    public int getTokenEnd() {
+        return tokenEnd;
+    }
+
+    public int getValueStart() {
+        return valueStart;
+    }
+
+    public int getValueEnd() {
+        return valueEnd;
+    }
+
+    public int getValueLength() {
+        return valueEnd - valueStart;
+    }
+
+    // L[n] 의 n (숫자가 아니면 -1)
+    public int getListSize() {
+        if (format != SECSFormat.LIST || !isValueNumeric()) {
+            return -1;
+        }
+        long size = valueAsLong();
+        return size > Integer.MAX_VALUE ? -1 : (int) size;
+    }
+
+    public boolean isValueNumeric() {
+        int start = valueStart;
+        if (start < valueEnd && (buf[start] == '-' || buf[start] == '+')) {
+            start++;
+        }
+        if (start == valueEnd) {
+            return false;
+        }
+        for (int i = start; i < valueEnd; i++) {
+            if (buf[i] < '0' || buf[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 값을 정수로 해석 (String 생성 없음)
+    public long valueAsLong() {
+        int i = valueStart;
+        boolean negative = false;
+        if (i < valueEnd && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+        if (i == valueEnd) {
+            throw new NumberFormatException("숫자가 아닙니다: " + valueAsString());
+        }
+        long result = 0;
+        for (; i < valueEnd; i++) {
+            char c = buf[i];
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("숫자가 아닙니다: " + valueAsString());
+            }
+            result = result * 10 + (c - '0');
+        }
+        return negative ? -result : result;
+    }
+
+    public String valueAsString() {
+        return new String(buf, valueStart, valueEnd - valueStart);
+    }
+
+    public String tokenAsString() {
+        return new String(buf, tokenStart, tokenEnd - tokenStart);
+    }
+}
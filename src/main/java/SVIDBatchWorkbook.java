@@ -0,0 +1,273 @@
+import org.apache.poi.common.usermodel.HyperlinkType;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Hyperlink;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// 여러 입력 파일을 파일마다 시트 하나씩 담는 통합 Excel 출력 (선택하면 첫 시트에 목차)
+// 파일은 동시에 변환되므로 항목은 파일마다 SVIDRecordStore 에 모았다가 close 에서 통합 문서를 잠그고 시트로 씀
+// 시트 이름은 입력 순서로 미리 정하고, 시트는 끝난 순서로 만들어지므로 저장할 때 입력 순서로 정렬
+// 통합 문서 하나를 스트리밍으로 쓰므로 스타일과 공유 문자열 표는 모든 시트가 함께 사용
+public class SVIDBatchWorkbook {
+
+    public static final String INDEX_SHEET_NAME = "INDEX";
+    // Excel 시트 이름 최대 길이
+    private static final int MAX_SHEET_NAME = 31;
+
+    private final File output;
+    private final SVIDExcelWriter settings;
+    private final SXSSFWorkbook workbook;
+    // 입력 순서의 시트 이름
+    private final Map<File, String> sheetNames = new LinkedHashMap<>();
+    // 변환을 마친 파일의 항목 수
+    private final Map<File, Integer> recordCounts = new HashMap<>();
+    private final CellStyle headerStyle;
+    private final CellStyle linkStyle;
+    private final boolean indexSheet;
+    private boolean closed;
+
+    public SVIDBatchWorkbook(File output, List<File> inputs, SVIDExcelWriter settings, boolean indexSheet) {
+        this.output = output;
+        this.settings = settings;
+        this.indexSheet = indexSheet;
+        // NAME/UNIT 은 공유 문자열 표에 넣음 (장비가 달라도 같은 이름과 단위가 많음)
+        this.workbook = PlainSharedStrings.createWorkbook(settings.getWindowSize());
+
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        headerStyle = workbook.createCellStyle();
+        headerStyle.setFont(bold);
+        Font link = workbook.createFont();
+        link.setUnderline(Font.U_SINGLE);
+        link.setColor(IndexedColors.BLUE.getIndex());
+        linkStyle = workbook.createCellStyle();
+        linkStyle.setFont(link);
+
+        // Excel 시트 이름은 대소문자를 구분하지 않고 History 는 예약됨
+        Set<String> used = new HashSet<>();
+        used.add("history");
+        if (indexSheet) {
+            used.add(INDEX_SHEET_NAME.toLowerCase(Locale.ROOT));
+            workbook.createSheet(INDEX_SHEET_NAME);
+        }
+        for (File input : inputs) {
+            sheetNames.put(input, sheetNameFor(input, used));
+        }
+    }
+
+    public File getOutput() {
+        return output;
+    }
+
+    public String getSheetName(File input) {
+        return sheetNames.get(input);
+    }
+
+    // 입력 파일 하나를 받는 출력 (서로 다른 스레드에서 동시에 사용 가능)
+    public SVIDSink open(File input) {
+        String sheetName = sheetNames.get(input);
+        if (sheetName == null) {
+            throw new IllegalArgumentException("통합 문서에 없는 입력입니다: " + input);
+        }
+        return new SheetSink(input, sheetName);
+    }
+
+    private class SheetSink implements SVIDSink {
+        private final File input;
+        private final String sheetName;
+        private SVIDRecordStore records = new SVIDRecordStore();
+        private ConversionMetrics metrics;
+
+        SheetSink(File input, String sheetName) {
+            this.input = input;
+            this.sheetName = sheetName;
+        }
+
+        @Override
+        public void setMetrics(ConversionMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        private void stage(ConversionMetrics.Stage stage) {
+            if (metrics != null) {
+                metrics.switchTo(stage);
+            }
+        }
+
+        @Override
+        public void write(SVIDData data) {
+            records.add(data);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (records == null) {
+                return;
+            }
+            // 다른 파일이 시트를 쓰는 동안 기다리는 시간도 행 생성 단계
+            stage(ConversionMetrics.Stage.ROWS);
+            writeSheet(input, sheetName, records, this);
+            records = null;
+        }
+
+        @Override
+        public void abort() {
+            records = null;
+        }
+    }
+
+    private synchronized void writeSheet(File input, String sheetName, SVIDRecordStore records, SheetSink sink) throws IOException {
+        if (closed) {
+            throw new IOException("통합 문서가 이미 닫혔습니다: " + output);
+        }
+        SXSSFSheet sheet = workbook.createSheet(sheetName);
+        if (settings.isAutoSizeColumns()) {
+            sheet.trackAllColumnsForAutoSizing();
+        }
+        ColumnWidthEstimator widthEstimator = new ColumnWidthEstimator(3);
+        writeHeader(sheet, widthEstimator, "SVID", "NAME", "UNIT");
+        // 사전의 문자열은 모두 어떤 항목에서 쓰이므로 NAME/UNIT 열 너비는 사전만 보면 됨
+        for (String name : records.getNames()) {
+            widthEstimator.append(1, name);
+        }
+        for (String unit : records.getUnits()) {
+            widthEstimator.append(2, unit);
+        }
+        for (int i = 0; i < records.size(); i++) {
+            Row row = sheet.createRow(i + 1);
+            String svid = records.getSvid(i);
+            row.createCell(0).setCellValue(svid);
+            row.createCell(1).setCellValue(records.getName(i));
+            row.createCell(2).setCellValue(records.getUnit(i));
+            widthEstimator.append(0, svid);
+        }
+        sink.stage(ConversionMetrics.Stage.COLUMN_WIDTH);
+        settings.finishSheet(sheet, widthEstimator);
+        // 다음 파일이 쓰는 동안 이 시트의 행이 메모리에 남지 않도록 임시 파일로 내보냄
+        sheet.flushRows();
+        recordCounts.put(input, records.size());
+    }
+
+    private void writeHeader(SXSSFSheet sheet, ColumnWidthEstimator widthEstimator, String... titles) {
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < titles.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(titles[i]);
+            cell.setCellStyle(headerStyle);
+            widthEstimator.append(i, titles[i]);
+        }
+    }
+
+    // 목차를 채우고 시트를 입력 순서로 정렬해서 저장, 저장한 파일 시트 수를 반환 (없으면 파일을 만들지 않음)
+    public synchronized int save() throws IOException {
+        if (closed) {
+            throw new IOException("통합 문서가 이미 닫혔습니다: " + output);
+        }
+        try {
+            int sheetCount = recordCounts.size();
+            if (sheetCount == 0) {
+                return 0;
+            }
+            int position = 0;
+            if (indexSheet) {
+                writeIndex();
+                workbook.setSheetOrder(INDEX_SHEET_NAME, position++);
+            }
+            for (Map.Entry<File, String> entry : sheetNames.entrySet()) {
+                if (recordCounts.containsKey(entry.getKey())) {
+                    workbook.setSheetOrder(entry.getValue(), position++);
+                }
+            }
+            workbook.setActiveSheet(0);
+            workbook.setSelectedTab(0);
+
+            Path target = output.toPath();
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(temp)) {
+                workbook.write(outputStream);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return sheetCount;
+        } finally {
+            abort();
+        }
+    }
+
+    // 시트 이름 (해당 시트로 가는 링크), 입력 파일 경로, 항목 수
+    private void writeIndex() {
+        SXSSFSheet sheet = workbook.getSheet(INDEX_SHEET_NAME);
+        ColumnWidthEstimator widthEstimator = new ColumnWidthEstimator(3);
+        writeHeader(sheet, widthEstimator, "SHEET", "FILE", "RECORDS");
+        int rowNum = 1;
+        for (Map.Entry<File, String> entry : sheetNames.entrySet()) {
+            Integer count = recordCounts.get(entry.getKey());
+            if (count == null) {
+                continue;
+            }
+            String sheetName = entry.getValue();
+            Row row = sheet.createRow(rowNum++);
+            Cell nameCell = row.createCell(0);
+            nameCell.setCellValue(sheetName);
+            Hyperlink link = workbook.getCreationHelper().createHyperlink(HyperlinkType.DOCUMENT);
+            link.setAddress("'" + sheetName.replace("'", "''") + "'!A1");
+            nameCell.setHyperlink(link);
+            nameCell.setCellStyle(linkStyle);
+            String path = entry.getKey().getPath();
+            row.createCell(1).setCellValue(path);
+            row.createCell(2).setCellValue(count);
+            widthEstimator.append(0, sheetName);
+            widthEstimator.append(1, path);
+            widthEstimator.append(2, Integer.toString(count));
+        }
+        widthEstimator.apply(sheet);
+    }
+
+    // 저장하지 않고 임시 파일 정리 (저장 후 호출해도 됨)
+    public synchronized void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        workbook.dispose();
+        try {
+            workbook.close();
+        } catch (IOException e) {
+            // 쓰지 않고 버리는 통합 문서
+        }
+    }
+
+    // 확장자를 뺀 파일 이름에서 시트 이름에 쓸 수 없는 문자를 바꾸고, 겹치면 뒤에 (2), (3) ... 을 붙임
+    static String sheetNameFor(File input, Set<String> used) {
+        String name = input.getName();
+        int dot = name.lastIndexOf('.');
+        String base = WorkbookUtil.createSafeSheetName(dot > 0 ? name.substring(0, dot) : name, '_');
+        String candidate = base;
+        for (int n = 2; !used.add(candidate.toLowerCase(Locale.ROOT)); n++) {
+            String suffix = " (" + n + ")";
+            candidate = base.substring(0, Math.min(base.length(), MAX_SHEET_NAME - suffix.length())) + suffix;
+        }
+        return candidate;
+    }
+}
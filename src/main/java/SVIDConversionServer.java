@@ -0,0 +1,444 @@
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// 로컬 변환 서버 (JDK 내장 HttpServer)
+// 한 번 띄워 두면 JVM 시작과 POI 클래스 로드 비용 없이 자동화 스크립트에서 반복 호출 가능
+// 인증이 없으므로 루프백 주소에만 바인딩 (같은 PC 의 프로그램만 접속)
+// 같은 PC 의 브라우저에서 열린 웹 페이지도 루프백으로 요청할 수 있으므로 Origin 헤더가 있는 요청은 거부
+//
+//   POST /convert?format=xlsx&type=auto&charset=auto   본문의 SML 텍스트를 변환해서 결과 파일 내용을 응답
+//   POST /convert?path=<입력 파일>[&output=<출력 파일>]  서버 PC 의 파일을 변환하고 출력 경로를 JSON 으로 응답
+//        output 은 출력 디렉터리 (-o, 없으면 입력 파일의 디렉터리) 안의 경로만 허용
+//   GET  /health                                         상태와 처리 건수 (JSON)
+//
+// 동시에 변환하는 요청 수를 제한해서 힙 사용량을 묶어 둠 (나머지는 기다리다가 시간이 지나면 503)
+public class SVIDConversionServer {
+
+    public static final long DEFAULT_MAX_BODY_BYTES = 256L * 1024 * 1024;
+    public static final long DEFAULT_QUEUE_TIMEOUT_MILLIS = 30000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    // 요청에서 지정하지 않았을 때의 값 (명령행 옵션)
+    private OutputFormat defaultFormat = OutputFormat.XLSX;
+    private Charset charset;
+    private NamelistProjection projection;
+    // 파일 경로 요청의 출력 디렉터리 (null 이면 입력 파일과 같은 위치)
+    private File outputDirectory;
+    private long maxBodyBytes = DEFAULT_MAX_BODY_BYTES;
+    private long queueTimeoutMillis = DEFAULT_QUEUE_TIMEOUT_MILLIS;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    // port 가 0 이면 비어 있는 포트 (getPort 로 확인)
+    public SVIDConversionServer(int port, int maxConcurrent) throws IOException {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.permits = new Semaphore(this.maxConcurrent, true);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        // 변환 자리를 기다리는 요청도 스레드를 쓰므로 변환 수보다 넉넉하게 (상태 조회가 막히지 않도록)
+        this.executor = Executors.newFixedThreadPool(Math.max(8, this.maxConcurrent * 2), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "svid-http-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        server.setExecutor(executor);
+        server.createContext("/convert", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                handleConvert(exchange);
+            }
+        });
+        server.createContext("/health", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                handleHealth(exchange);
+            }
+        });
+    }
+
+    public void setDefaultFormat(OutputFormat defaultFormat) {
+        this.defaultFormat = defaultFormat;
+    }
+
+    public void setCharset(Charset charset) {
+        this.charset = charset;
+    }
+
+    public void setProjection(NamelistProjection projection) {
+        this.projection = projection;
+    }
+
+    public void setOutputDirectory(File outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    public void setMaxBodyBytes(long maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public void setQueueTimeoutMillis(long queueTimeoutMillis) {
+        this.queueTimeoutMillis = queueTimeoutMillis;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    // 요청을 받기 시작하고 POI 와 파서를 백그라운드에서 미리 로드
+    public void start() {
+        server.start();
+        Thread warmUp = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                warmUp();
+            }
+        }, "svid-warm-up");
+        warmUp.setDaemon(true);
+        warmUp.setPriority(Thread.MIN_PRIORITY);
+        warmUp.start();
+    }
+
+    // 처리 중인 요청은 delaySeconds 까지 기다린 뒤 종료
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdownNow();
+        stopped.countDown();
+    }
+
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    // 작은 목록을 Excel 과 CSV 로 변환해서 토크나이저, 목록 파서, POI 를 로드
+    private void warmUp() {
+        SVIDExcelWriter.warmUp();
+        StringBuilder sample = new StringBuilder("S1F12\nL[20]\n");
+        for (int i = 0; i < 20; i++) {
+            sample.append("    L[3]\n        U4[").append(1000 + i).append("]\n        A[Chamber Pressure ")
+                    .append(i).append("]\n        A[").append(i % 2 == 0 ? "Torr" : "온도").append("]\n");
+        }
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("svid-warmup-");
+            Path input = directory.resolve("warmup.txt");
+            Files.write(input, sample.toString().getBytes(StandardCharsets.UTF_8));
+            BatchConverter converter = new BatchConverter(1, null);
+            converter.convertFile(input.toFile(), directory.resolve("warmup.csv").toFile(), new Consumer<String>() {
+                @Override
+                public void accept(String warning) {
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            // 미리 로드하지 못해도 첫 요청에서 로드됨
+        } finally {
+            deleteQuietly(directory);
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendText(exchange, 405, "GET 요청만 지원합니다");
+                return;
+            }
+            sendJson(exchange, 200, "{\"status\": \"ok\""
+                    + ", \"active\": " + (maxConcurrent - permits.availablePermits())
+                    + ", \"maxConcurrent\": " + maxConcurrent
+                    + ", \"waiting\": " + permits.getQueueLength()
+                    + ", \"completed\": " + completed.get()
+                    + ", \"failed\": " + failed.get()
+                    + ", \"rejected\": " + rejected.get() + "}\n");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleConvert(HttpExchange exchange) throws IOException {
+        Path directory = null;
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendText(exchange, 405, "POST 요청만 지원합니다");
+                return;
+            }
+            // 자동화 스크립트는 Origin 을 보내지 않음 (브라우저는 다른 출처로 보내는 POST 에 항상 붙임)
+            if (exchange.getRequestHeaders().getFirst("Origin") != null) {
+                sendText(exchange, 403, "브라우저 요청은 지원하지 않습니다");
+                return;
+            }
+
+            BatchConverter converter;
+            Map<String, String> query;
+            try {
+                query = parseQuery(exchange.getRequestURI().getRawQuery());
+                converter = converterFor(query, exchange.getRequestHeaders());
+            } catch (IllegalArgumentException e) {
+                sendText(exchange, 400, "오류 발생: " + e.getMessage());
+                return;
+            }
+
+            File input;
+            File output;
+            String path = query.get("path");
+            if (path != null) {
+                input = new File(path).getAbsoluteFile();
+                if (!input.isFile()) {
+                    sendText(exchange, 404, "파일을 찾을 수 없습니다: " + input.getPath());
+                    return;
+                }
+                String outputPath = query.get("output");
+                if (outputPath == null) {
+                    output = converter.resolveOutputFile(input);
+                } else {
+                    output = resolveRequestOutput(input, outputPath);
+                    if (output == null) {
+                        sendText(exchange, 400, "출력 경로는 출력 디렉터리 안이어야 합니다: " + outputPath);
+                        return;
+                    }
+                }
+            } else {
+                // 파서와 출력이 파일 기준이므로 본문을 임시 디렉터리에 받아서 변환
+                directory = Files.createTempDirectory("svid-request-");
+                input = directory.resolve("input.txt").toFile();
+                if (!receiveBody(exchange, input.toPath())) {
+                    sendText(exchange, 413, "요청 본문이 너무 큽니다 (최대 " + maxBodyBytes + "바이트)");
+                    return;
+                }
+                output = directory.resolve("output." + converter.getOutputFormat().getExtension()).toFile();
+            }
+
+            if (!permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                rejected.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendText(exchange, 503, "변환 요청이 많습니다. 잠시 후 다시 시도하세요");
+                return;
+            }
+            String source = path != null ? input.getPath() : "(요청 본문)";
+            List<String> warnings = new ArrayList<>();
+            int recordCount;
+            long startNanos = System.nanoTime();
+            long wallNanos;
+            try {
+                recordCount = converter.convertFile(input, output, new Consumer<String>() {
+                    @Override
+                    public void accept(String warning) {
+                        warnings.add(warning);
+                    }
+                });
+                wallNanos = System.nanoTime() - startNanos;
+            } catch (IOException | RuntimeException e) {
+                failed.incrementAndGet();
+                System.err.println("오류 발생: " + source + " - " + e.getMessage());
+                sendText(exchange, 422, "오류 발생: " + e.getMessage());
+                return;
+            } finally {
+                permits.release();
+            }
+            completed.incrementAndGet();
+            System.out.println("변환 완료: " + (path != null ? output.getPath() : source) + " ("
+                    + recordCount + "건, " + wallNanos / 1000000 + "ms)");
+
+            if (path != null) {
+                StringBuilder json = new StringBuilder();
+                json.append("{\"input\": ").append(MetricsReport.jsonString(input.getPath()))
+                        .append(", \"output\": ").append(MetricsReport.jsonString(output.getPath()))
+                        .append(", \"records\": ").append(recordCount)
+                        .append(", \"wallNanos\": ").append(wallNanos)
+                        .append(", \"warnings\": [");
+                for (int i = 0; i < warnings.size(); i++) {
+                    json.append(i > 0 ? ", " : "").append(MetricsReport.jsonString(warnings.get(i)));
+                }
+                json.append("]}\n");
+                sendJson(exchange, 200, json.toString());
+            } else {
+                Headers headers = exchange.getResponseHeaders();
+                headers.set("Content-Type", converter.getOutputFormat().getContentType());
+                headers.set("Content-Disposition", "attachment; filename=\"svid." + converter.getOutputFormat().getExtension() + "\"");
+                // 경고 내용은 한글이 들어갈 수 있으므로 개수만 헤더로
+                headers.set("X-SVID-Records", Integer.toString(recordCount));
+                headers.set("X-SVID-Warnings", Integer.toString(warnings.size()));
+                exchange.sendResponseHeaders(200, Files.size(output.toPath()));
+                try (OutputStream body = exchange.getResponseBody()) {
+                    Files.copy(output.toPath(), body);
+                }
+            }
+        } catch (InterruptedException e) {
+            // 서버 종료
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+            deleteQuietly(directory);
+        }
+    }
+
+    // 요청마다 설정이 다르므로 변환기를 새로 만듦 (파서와 출력 객체는 어차피 파일마다 새로 만듦)
+    // 인코딩은 charset 파라미터, Content-Type 의 charset, 판별 순으로 결정
+    private BatchConverter converterFor(Map<String, String> query, Headers headers) {
+        Charset requestCharset = charset;
+        String charsetName = query.get("charset");
+        if (charsetName == null) {
+            charsetName = contentTypeCharset(headers.getFirst("Content-Type"));
+        }
+        if (charsetName != null) {
+            requestCharset = "auto".equalsIgnoreCase(charsetName) ? null : Charset.forName(charsetName);
+        }
+        BatchConverter converter = new BatchConverter(1, requestCharset);
+        String format = query.get("format");
+        converter.setOutputFormat(format != null ? OutputFormat.forName(format) : defaultFormat);
+        String type = query.get("type");
+        converter.setProjection(type == null ? projection : "auto".equalsIgnoreCase(type) ? null : NamelistProjection.forName(type));
+        converter.setOutputDirectory(outputDirectory);
+        return converter;
+    }
+
+    // 요청의 output 을 출력 디렉터리 (없으면 입력 파일의 디렉터리) 기준으로 풀고, 그 밖이면 null
+    private File resolveRequestOutput(File input, String outputPath) {
+        Path base = (outputDirectory != null ? outputDirectory : input.getParentFile()).toPath().toAbsolutePath().normalize();
+        Path output;
+        try {
+            output = base.resolve(outputPath).normalize();
+        } catch (InvalidPathException e) {
+            return null;
+        }
+        if (!output.startsWith(base) || output.equals(base)) {
+            return null;
+        }
+        return output.toFile();
+    }
+
+    private static String contentTypeCharset(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        for (String parameter : contentType.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+                return trimmed.substring(8).replace("\"", "").trim();
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            query.put(name, value);
+        }
+        return query;
+    }
+
+    // maxBodyBytes 를 넘으면 false
+    private boolean receiveBody(HttpExchange exchange, Path target) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null) {
+            try {
+                if (Long.parseLong(length.trim()) > maxBodyBytes) {
+                    return false;
+                }
+            } catch (NumberFormatException e) {
+                // 받으면서 확인
+            }
+        }
+        long total = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = exchange.getRequestBody(); OutputStream out = Files.newOutputStream(target)) {
+            int count;
+            while ((count = in.read(buffer)) > 0) {
+                total += count;
+                if (total > maxBodyBytes) {
+                    return false;
+                }
+                out.write(buffer, 0, count);
+            }
+        }
+        return true;
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, "text/plain; charset=UTF-8", message + "\n");
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        send(exchange, status, "application/json; charset=UTF-8", json);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(bytes);
+        }
+    }
+
+    // 요청용 임시 디렉터리 (입력, 출력, 출력의 .tmp 파일) 삭제
+    private static void deleteQuietly(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            File[] files = directory.toFile().listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    Files.deleteIfExists(file.toPath());
+                }
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            // 임시 디렉터리에 남음
+        }
+    }
+}
@@ -0,0 +1,87 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// 파서에서 나온 항목을 그대로 출력으로 넘기는 변환 엔진 (GUI, 명령행 공용)
+public class SVIDConverter {
+
+    // 입력 인코딩을 판별할 수 없을 때 (ASCII 만 있는 경우) 와 SML 출력의 인코딩
+    public static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+
+    // 측정할 때 단계를 한 번 바꿀 때마다 출력하는 항목 수
+    private static final int METRICS_BATCH = 4096;
+
+    // 변환한 항목 수를 반환, 실패하면 sink 는 출력 없이 정리됨
+    public static int convert(SVIDParser parser, Path input, SVIDSink sink, Consumer<String> warningHandler) throws IOException {
+        return convert(parser, input, sink, warningHandler, null);
+    }
+
+    // metrics 가 있으면 파싱, 행 생성, 저장 단계별 시간과 할당량을 기록
+    // 단계 전환 (시각과 할당량 조회) 이 항목마다 일어나지 않도록 METRICS_BATCH 개씩 모아서 출력
+    public static int convert(SVIDParser parser, Path input, SVIDSink sink, Consumer<String> warningHandler,
+                              ConversionMetrics metrics) throws IOException {
+        final int[] count = new int[1];
+        final List<SVIDData> batch = metrics != null ? new ArrayList<SVIDData>(METRICS_BATCH) : null;
+        if (metrics != null) {
+            sink.setMetrics(metrics);
+            metrics.start();
+            metrics.switchTo(ConversionMetrics.Stage.PARSE);
+        }
+        try {
+            parser.parse(input, new Consumer<SVIDData>() {
+                @Override
+                public void accept(SVIDData data) {
+                    count[0]++;
+                    try {
+                        if (batch == null) {
+                            sink.write(data);
+                            return;
+                        }
+                        batch.add(data);
+                        if (batch.size() == METRICS_BATCH) {
+                            writeBatch(batch, sink, metrics);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }, warningHandler);
+            if (metrics != null) {
+                writeBatch(batch, sink, metrics);
+                metrics.switchTo(ConversionMetrics.Stage.SAVE);
+            }
+            sink.close();
+        } catch (UncheckedIOException e) {
+            sink.abort();
+            throw e.getCause();
+        } catch (IOException | RuntimeException | Error e) {
+            sink.abort();
+            throw e;
+        } finally {
+            if (metrics != null) {
+                metrics.finish();
+            }
+        }
+        return count[0];
+    }
+
+    // 모아 둔 항목을 행 생성 단계로 출력하고 다시 파싱 단계로 돌아감
+    private static void writeBatch(List<SVIDData> batch, SVIDSink sink, ConversionMetrics metrics) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        metrics.recordsParsed(batch.size());
+        metrics.switchTo(ConversionMetrics.Stage.ROWS);
+        for (SVIDData data : batch) {
+            sink.write(data);
+        }
+        metrics.rowsWritten(batch.size());
+        batch.clear();
+        metrics.switchTo(ConversionMetrics.Stage.PARSE);
+    }
+}
@@ -1,8 +1,3 @@
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.plaf.FontUIResource;
@@ -16,37 +11,22 @@ import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.TooManyListenersException;
+import java.util.concurrent.ExecutionException;
 
 public class SVIDConverterApp extends JFrame {
 
     private JTextArea logArea;
     private JPanel dropPanel;
     private JButton convertButton;
+    private JButton cancelButton;
+    private JComboBox<OutputFormat> formatBox;
+    // Excel 출력일 때 모든 파일을 시트로 담은 통합 문서 하나로 저장
+    private JCheckBox combineBox;
+    // 파일별 측정값 (단계별 시간, 할당량, 최대 힙) 을 로그에 출력
+    private JCheckBox metricsBox;
     private List<File> droppedFiles = new ArrayList<>();
-
-    static class SVIDData {
-        private String svid;
-        private String name;
-        private String unit;
-
-        public SVIDData(String svid, String name, String unit) {
-            this.svid = svid;
-            this.name = name;
-            this.unit = unit;
-        }
-
-        public String getSvid() {
-            return svid;
-        }
-
-        public String getName() {
-            return name;
-        }
-
-        public String getUnit() {
-            return unit;
-        }
-    }
+    // 실행 중인 일괄 변환 (없으면 null)
+    private BatchConverter currentBatch;
 
     // 글꼴 설정을 위한 메소드 추가
     private static void setUIFont() {
@@ -68,10 +48,14 @@ public class SVIDConverterApp extends JFrame {
         }
 
         // 모든 UI 컴포넌트에 폰트 적용
+        // 글꼴 키 (Button.font, Menu.acceleratorFont 등) 만 조회해서 아이콘, 테두리 같은 지연 값은 만들지 않음
         FontUIResource fontResource = new FontUIResource(preferredFont);
         Enumeration<Object> keys = UIManager.getDefaults().keys();
         while (keys.hasMoreElements()) {
             Object key = keys.nextElement();
+            if (!(key instanceof String) || !((String) key).toLowerCase().endsWith("font")) {
+                continue;
+            }
             Object value = UIManager.get(key);
             if (value instanceof FontUIResource) {
                 UIManager.put(key, fontResource);
@@ -111,7 +95,9 @@ public class SVIDConverterApp extends JFrame {
 
                         droppedFiles.clear();
                         for (File file : files) {
-                            if (file.getName().toLowerCase().endsWith(".txt")) {
+                            // .xlsx, .svc, .sml 은 변환 결과를 다시 읽어 다른 형식으로 출력
+                            String name = file.getName().toLowerCase();
+                            if (name.endsWith(".txt") || name.endsWith(".xlsx") || name.endsWith(".svc") || name.endsWith(".sml")) {
                                 droppedFiles.add(file);
                                 logArea.append("파일이 추가되었습니다: " + file.getName() + "\n");
                             } else {
@@ -120,7 +106,7 @@ public class SVIDConverterApp extends JFrame {
                         }
 
                         if (!droppedFiles.isEmpty()) {
-                            convertButton.setEnabled(true);
+                            convertButton.setEnabled(currentBatch == null);
                             dropLabel.setText(droppedFiles.size() + "개의 파일이 추가됨 - 변환 버튼을 클릭하세요");
                         } else {
                             convertButton.setEnabled(false);
@@ -168,12 +154,43 @@ public class SVIDConverterApp extends JFrame {
             }
         });
 
+        // 취소 버튼
+        cancelButton = new JButton("취소");
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (currentBatch != null) {
+                    currentBatch.cancel();
+                    cancelButton.setEnabled(false);
+                    logArea.append("변환 취소 중...\n");
+                }
+            }
+        });
+
+        // 출력 형식 선택
+        formatBox = new JComboBox<>(OutputFormat.values());
+        formatBox.setSelectedItem(OutputFormat.XLSX);
+        combineBox = new JCheckBox("한 파일로 합치기");
+        metricsBox = new JCheckBox("측정값 표시");
+        formatBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                combineBox.setEnabled(formatBox.getSelectedItem() == OutputFormat.XLSX);
+            }
+        });
+
         // UI 배치
         mainPanel.add(dropPanel, BorderLayout.NORTH);
         mainPanel.add(scrollPane, BorderLayout.CENTER);
 
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.add(new JLabel("출력 형식:"));
+        buttonPanel.add(formatBox);
+        buttonPanel.add(combineBox);
+        buttonPanel.add(metricsBox);
         buttonPanel.add(convertButton);
+        buttonPanel.add(cancelButton);
         mainPanel.add(buttonPanel, BorderLayout.SOUTH);
 
         add(mainPanel);
@@ -181,171 +198,119 @@ public class SVIDConverterApp extends JFrame {
     }
 
     private void convertFiles() {
-        for (File file : droppedFiles) {
-            try {
-                logArea.append("파일 처리 중: " + file.getName() + "\n");
-                List<SVIDData> svidDataList = extractSVIDData(file.getAbsolutePath());
-
-                // 출력 파일명 생성 (확장자 변경)
-                String outputPath = file.getAbsolutePath().replace(".txt", ".xlsx");
-                if (outputPath.equals(file.getAbsolutePath())) {
-                    outputPath = file.getAbsolutePath() + ".xlsx";
-                }
-
-                createExcelFile(svidDataList, outputPath);
-                logArea.append("변환 완료: " + new File(outputPath).getName() + "\n");
-            } catch (IOException e) {
-                logArea.append("오류 발생: " + e.getMessage() + "\n");
-                e.printStackTrace();
+        final List<File> files = new ArrayList<>(droppedFiles);
+        final BatchConverter batch = new BatchConverter(BatchConverter.defaultThreadCount(), null);
+        batch.setOutputFormat((OutputFormat) formatBox.getSelectedItem());
+        // 변환 스레드보다 파일이 적으면 남는 코어로 파싱과 출력을 겹쳐서 실행
+        batch.setPipelined(files.size() < BatchConverter.defaultThreadCount());
+        batch.setCollectMetrics(metricsBox.isSelected());
+        if (combineBox.isEnabled() && combineBox.isSelected()) {
+            File combinedOutput = chooseCombinedOutput(files.get(0).getParentFile());
+            if (combinedOutput == null) {
+                return;
             }
+            batch.setCombinedOutput(combinedOutput);
+            batch.setIndexSheet(true);
         }
-
-        logArea.append("모든 파일 처리 완료!\n");
-        // 처리 후 파일 목록 비우기
-        droppedFiles.clear();
+        currentBatch = batch;
         convertButton.setEnabled(false);
+        cancelButton.setEnabled(true);
 
-        JLabel label = (JLabel) dropPanel.getComponent(0);
-        label.setText("텍스트 파일(.txt)을 여기에 드래그하세요");
-        dropPanel.setBackground(new Color(240, 240, 240));
-    }
-
-    private static List<SVIDData> extractSVIDData(String fileName) throws IOException {
-        List<SVIDData> svidDataList = new ArrayList<>();
-
-        // 파일 인코딩 설정 - UTF-8 사용
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(fileName), "UTF-8"))) {
-            String line;
-            boolean foundRootList = false;
-
-            String currentSvid = null;
-            String currentName = null;
-            String currentUnit = null;
-            int currentSublistIndex = 0;
-
-            while ((line = reader.readLine()) != null) {
-                // 루트 리스트 찾기
-                if (!foundRootList && line.trim().startsWith("L[")) {
-                    foundRootList = true;
-                    continue;
-                }
-
-                if (foundRootList) {
-                    // 서브리스트 시작 감지
-                    if (line.trim().startsWith("L[3]")) {
-                        currentSublistIndex = 0;
-                        currentSvid = null;
-                        currentName = null;
-                        currentUnit = null;
-                        continue;
+        // 변환은 작업 스레드에서 실행하고 로그는 EDT 에서 출력
+        new SwingWorker<Boolean, String>() {
+            @Override
+            protected Boolean doInBackground() throws Exception {
+                return batch.convert(files, new BatchConverter.Listener() {
+                    @Override
+                    public void fileStarted(File input) {
+                        publish("파일 처리 중: " + input.getName());
                     }
 
-                    currentSublistIndex++;
-
-                    // SVID 추출 (첫 번째 항목)
-                    if (currentSublistIndex == 1) {
-                        if (line.contains("I2[") || line.contains("U4[")) {
-                            int startIdx = Math.max(line.indexOf("I2["), line.indexOf("U4["));
-                            startIdx = startIdx == -1 ? (line.indexOf("I2[") != -1 ? line.indexOf("I2[") : line.indexOf("U4[")) : startIdx;
-                            startIdx = startIdx + 3; // "I2[" or "U4[" length
-
-                            int endIdx = line.indexOf("]", startIdx);
-                            if (endIdx > startIdx) {
-                                currentSvid = line.substring(startIdx, endIdx);
-                            }
+                    @Override
+                    public void fileConverted(File input, File output, int recordCount, ConversionMetrics metrics) {
+                        publish("변환 완료: " + output.getName() + " (" + recordCount + "건)");
+                        if (metrics != null) {
+                            publish("  " + metrics.summary());
                         }
                     }
-                    // NAME 추출 (두 번째 항목)
-                    else if (currentSublistIndex == 2) {
-                        if (line.trim().equals("A")) {
-                            // NAME이 비어있는 경우
-                            currentName = "";
-                        } else {
-                            // A 다음에 있는 대괄호 안의 전체 내용을 추출
-                            int startIdx = line.indexOf("A[") + 2;
-                            if (startIdx > 1) {  // A[ 로 시작하는 경우
-                                // 마지막 대괄호 위치 찾기
-                                int endIdx = line.lastIndexOf("]");
-                                if (endIdx > startIdx) {
-                                    currentName = line.substring(startIdx, endIdx);
-                                } else {
-                                    currentName = "";
-                                }
-                            } else {
-                                currentName = "";
-                            }
-                        }
-                    }
-                    // UNIT 추출 (세 번째 항목)
-                    else if (currentSublistIndex == 3) {
-                        if (line.trim().equals("A")) {
-                            currentUnit = "";
-                        } else {
-                            // A 다음에 있는 대괄호 안의 전체 내용을 추출
-                            int startIdx = line.indexOf("A[") + 2;
-                            if (startIdx > 1) {  // A[ 로 시작하는 경우
-                                // 마지막 대괄호 위치 찾기
-                                int endIdx = line.lastIndexOf("]");
-                                if (endIdx > startIdx) {
-                                    currentUnit = line.substring(startIdx, endIdx);
-                                } else {
-                                    currentUnit = "";
-                                }
-                            } else {
-                                currentUnit = "";
-                            }
-                        }
 
-                        // 서브리스트의 마지막 항목이므로 데이터 추가
-                        if (currentSvid != null) {
-                            svidDataList.add(new SVIDData(currentSvid, currentName, currentUnit));
-                        }
+                    @Override
+                    public void fileFailed(File input, Throwable error) {
+                        publish("오류 발생: " + input.getName() + " - " + (error.getMessage() != null ? error.getMessage() : error));
+                        error.printStackTrace();
                     }
-                }
-            }
-        }
 
-        return svidDataList;
-    }
+                    @Override
+                    public void fileSkipped(File input, File output) {
+                        publish("변경 없음, 건너뜀: " + input.getName());
+                    }
 
-    private static void createExcelFile(List<SVIDData> svidDataList, String outputFile) throws IOException {
-        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
-            XSSFSheet sheet = workbook.createSheet("SVID Data");
+                    @Override
+                    public void fileWarning(File input, String message) {
+                        publish("경고: " + input.getName() + " - " + message);
+                    }
 
-            // 헤더 생성
-            Row headerRow = sheet.createRow(0);
-            Cell headerCell1 = headerRow.createCell(0);
-            headerCell1.setCellValue("SVID");
-            Cell headerCell2 = headerRow.createCell(1);
-            headerCell2.setCellValue("NAME");
-            Cell headerCell3 = headerRow.createCell(2);
-            headerCell3.setCellValue("UNIT");
+                    @Override
+                    public void batchSaved(File output, int sheetCount) {
+                        publish("통합 문서 저장: " + output.getName() + " (" + sheetCount + "개 시트)");
+                    }
+                });
+            }
 
-            // 데이터 채우기
-            int rowNum = 1;
-            for (SVIDData data : svidDataList) {
-                Row row = sheet.createRow(rowNum++);
+            @Override
+            protected void process(List<String> messages) {
+                for (String message : messages) {
+                    logArea.append(message + "\n");
+                }
+            }
 
-                Cell cell1 = row.createCell(0);
-                cell1.setCellValue(data.getSvid());
+            @Override
+            protected void done() {
+                boolean completed;
+                Throwable error = null;
+                try {
+                    completed = get();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    completed = false;
+                    // 통합 문서 저장 실패 등
+                    error = e instanceof ExecutionException ? e.getCause() : null;
+                }
 
-                Cell cell2 = row.createCell(1);
-                cell2.setCellValue(data.getName() != null ? data.getName() : "");
+                if (completed) {
+                    logArea.append("모든 파일 처리 완료!\n");
+                } else if (error != null) {
+                    logArea.append("오류 발생: " + error.getMessage() + "\n");
+                } else {
+                    logArea.append("변환이 취소되었습니다.\n");
+                }
+                currentBatch = null;
+                cancelButton.setEnabled(false);
 
-                Cell cell3 = row.createCell(2);
-                cell3.setCellValue(data.getUnit() != null ? data.getUnit() : "");
-            }
+                // 변환 중에 새로 드롭된 파일이 없으면 파일 목록 비우기
+                if (!droppedFiles.equals(files)) {
+                    convertButton.setEnabled(!droppedFiles.isEmpty());
+                    return;
+                }
+                droppedFiles.clear();
+                convertButton.setEnabled(false);
 
-            // 열 너비 자동 조정
-            for (int i = 0; i < 3; i++) {
-                sheet.autoSizeColumn(i);
+                JLabel label = (JLabel) dropPanel.getComponent(0);
+                label.setText("텍스트 파일(.txt)을 여기에 드래그하세요");
+                dropPanel.setBackground(new Color(240, 240, 240));
             }
+        }.execute();
+    }
 
-            // 파일 저장
-            try (FileOutputStream outputStream = new FileOutputStream(outputFile)) {
-                workbook.write(outputStream);
-            }
+    // 통합 문서 저장 위치 선택 (취소하면 null)
+    private File chooseCombinedOutput(File directory) {
+        JFileChooser chooser = new JFileChooser(directory);
+        chooser.setSelectedFile(new File(directory, "SVID_통합.xlsx"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return null;
         }
+        File file = chooser.getSelectedFile();
+        return file.getName().toLowerCase().endsWith(".xlsx") ? file : new File(file.getPath() + ".xlsx");
     }
 
     public static void main(String[] args) {
@@ -364,6 +329,17 @@ public class SVIDConverterApp extends JFrame {
                 }
 
                 new SVIDConverterApp();
+
+                // 창이 뜬 뒤 POI 를 백그라운드에서 미리 로드해서 첫 파일 변환이 느리지 않게 함
+                Thread warmUp = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        SVIDExcelWriter.warmUp();
+                    }
+                }, "poi-warm-up");
+                warmUp.setDaemon(true);
+                warmUp.setPriority(Thread.MIN_PRIORITY);
+                warmUp.start();
             }
         });
     }
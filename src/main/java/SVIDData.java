@@ -0,0 +1,47 @@
+public class SVIDData {
+    // long 으로 되돌렸을 때 같은 문자열이 되는 최대 자릿수 (부호 제외)
+    private static final int MAX_CANONICAL_DIGITS = 18;
+
+    private String svid;
+    private String name;
+    private String unit;
+
+    public SVIDData(String svid, String name, String unit) {
+        this.svid = svid;
+        this.name = name;
+        this.unit = unit;
+    }
+
+    public String getSvid() {
+        return svid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    // Long.toString 으로 되돌렸을 때 원래 문자열과 같은 10진수인지 (-0, 앞의 0, + 기호 등은 false)
+    // 숫자로 저장하는 곳 (SVIDRecordStore, .svc 열) 에서 원래 문자열을 잃지 않도록 확인
+    static boolean isCanonicalLong(String value) {
+        int length = value.length();
+        int start = length > 0 && value.charAt(0) == '-' ? 1 : 0;
+        int digits = length - start;
+        if (digits == 0 || digits > MAX_CANONICAL_DIGITS) {
+            return false;
+        }
+        if (value.charAt(start) == '0' && (digits > 1 || start == 1)) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
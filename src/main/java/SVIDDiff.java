@@ -0,0 +1,324 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+// 두 SVID 목록 버전 비교 (추가, 삭제, 이름 변경, 단위 변경)
+// 양쪽을 SVID 순으로 정렬한 뒤 한 번에 병합하며 비교 (sort-merge join)
+// 정렬은 runSize 개씩 나누어 임시 파일로 내보낸 뒤 병합하므로 메모리는 목록 크기와 무관함
+// 한쪽에 같은 SVID 가 여러 번 나오면 (응답을 여러 번 받은 호스트 트레이스) 마지막 항목 하나로 비교
+public class SVIDDiff {
+
+    public enum ChangeType {
+        ADDED,
+        REMOVED,
+        RENAMED,
+        UNIT_CHANGED,
+        RENAMED_UNIT_CHANGED
+    }
+
+    // 비교 결과를 SVID 순으로 받음 (추가는 before, 삭제는 after 가 null)
+    public interface Handler {
+        void changed(ChangeType type, SVIDData before, SVIDData after) throws IOException;
+    }
+
+    // 한 번에 메모리에서 정렬하는 항목 수
+    public static final int DEFAULT_RUN_SIZE = 250000;
+
+    // 숫자 SVID 는 값 순서, 나머지는 그 뒤에 문자열 순서
+    public static final Comparator<SVIDData> SVID_ORDER = new Comparator<SVIDData>() {
+        @Override
+        public int compare(SVIDData a, SVIDData b) {
+            return compareSvid(a.getSvid(), b.getSvid());
+        }
+    };
+
+    private final SVIDParser parser;
+    private int runSize = DEFAULT_RUN_SIZE;
+    private final int[] counts = new int[ChangeType.values().length];
+    private int unchangedCount;
+
+    public SVIDDiff(SVIDParser parser) {
+        this.parser = parser;
+    }
+
+    public void setRunSize(int runSize) {
+        this.runSize = Math.max(1, runSize);
+    }
+
+    public int getCount(ChangeType type) {
+        return counts[type.ordinal()];
+    }
+
+    public int getUnchangedCount() {
+        return unchangedCount;
+    }
+
+    public void diff(Path before, Path after, Consumer<String> warningHandler, Handler handler) throws IOException {
+        try (SortedRecords beforeRecords = sort(before, warningHandler);
+             SortedRecords afterRecords = sort(after, warningHandler)) {
+            SVIDData left = beforeRecords.nextDistinct(warningHandler);
+            SVIDData right = afterRecords.nextDistinct(warningHandler);
+            while (left != null || right != null) {
+                int order = left == null ? 1 : right == null ? -1 : compareSvid(left.getSvid(), right.getSvid());
+                if (order < 0) {
+                    report(ChangeType.REMOVED, left, null, handler);
+                    left = beforeRecords.nextDistinct(warningHandler);
+                } else if (order > 0) {
+                    report(ChangeType.ADDED, null, right, handler);
+                    right = afterRecords.nextDistinct(warningHandler);
+                } else {
+                    boolean renamed = !text(left.getName()).equals(text(right.getName()));
+                    boolean unitChanged = !text(left.getUnit()).equals(text(right.getUnit()));
+                    if (renamed && unitChanged) {
+                        report(ChangeType.RENAMED_UNIT_CHANGED, left, right, handler);
+                    } else if (renamed) {
+                        report(ChangeType.RENAMED, left, right, handler);
+                    } else if (unitChanged) {
+                        report(ChangeType.UNIT_CHANGED, left, right, handler);
+                    } else {
+                        unchangedCount++;
+                    }
+                    left = beforeRecords.nextDistinct(warningHandler);
+                    right = afterRecords.nextDistinct(warningHandler);
+                }
+            }
+        }
+    }
+
+    private void report(ChangeType type, SVIDData before, SVIDData after, Handler handler) throws IOException {
+        counts[type.ordinal()]++;
+        handler.changed(type, before, after);
+    }
+
+    private static String text(String value) {
+        return value != null ? value : "";
+    }
+
+    // 숫자끼리는 값 (앞의 0 무시) 으로 비교하고 값이 같으면 문자열로 비교해 순서를 정함
+    public static int compareSvid(String a, String b) {
+        boolean aNumber = isDigits(a);
+        boolean bNumber = isDigits(b);
+        if (aNumber != bNumber) {
+            return aNumber ? -1 : 1;
+        }
+        if (aNumber) {
+            int aStart = skipZeros(a);
+            int bStart = skipZeros(b);
+            int result = Integer.compare(a.length() - aStart, b.length() - bStart);
+            if (result == 0) {
+                result = a.substring(aStart).compareTo(b.substring(bStart));
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return a.compareTo(b);
+    }
+
+    private static boolean isDigits(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipZeros(String value) {
+        int i = 0;
+        while (i < value.length() - 1 && value.charAt(i) == '0') {
+            i++;
+        }
+        return i;
+    }
+
+    // 입력 하나를 정렬된 순서로 읽기 (runSize 를 넘으면 정렬된 구간을 임시 파일로 내보냄)
+    private SortedRecords sort(Path input, Consumer<String> warningHandler) throws IOException {
+        final SortedRecords records = new SortedRecords(input);
+        try {
+            parser.parse(input, new Consumer<SVIDData>() {
+                @Override
+                public void accept(SVIDData data) {
+                    try {
+                        records.add(data);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }, warningHandler);
+            records.finish();
+            return records;
+        } catch (UncheckedIOException e) {
+            records.close();
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            records.close();
+            throw e;
+        }
+    }
+
+    private class SortedRecords implements Closeable {
+        private final Path input;
+        private List<SVIDData> buffer = new ArrayList<>();
+        private final List<Path> runFiles = new ArrayList<>();
+        private final List<RunReader> readers = new ArrayList<>();
+        private PriorityQueue<RunReader> queue;
+        private int index;
+        // nextDistinct 가 미리 읽은 다음 SVID 의 첫 항목
+        private SVIDData pending;
+
+        SortedRecords(Path input) {
+            this.input = input;
+        }
+
+        void add(SVIDData data) throws IOException {
+            buffer.add(data);
+            if (buffer.size() >= runSize) {
+                spill();
+            }
+        }
+
+        private void spill() throws IOException {
+            buffer.sort(SVID_ORDER);
+            Path runFile = Files.createTempFile("svid-diff-", ".run");
+            runFiles.add(runFile);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(runFile), 64 * 1024))) {
+                for (SVIDData data : buffer) {
+                    writeString(out, data.getSvid());
+                    writeString(out, data.getName());
+                    writeString(out, data.getUnit());
+                }
+            }
+            buffer.clear();
+        }
+
+        void finish() throws IOException {
+            if (runFiles.isEmpty()) {
+                // 한 구간에 모두 들어가면 임시 파일 없이 메모리에서 정렬
+                buffer.sort(SVID_ORDER);
+                return;
+            }
+            if (!buffer.isEmpty()) {
+                spill();
+            }
+            buffer = null;
+            // 구간마다 첫 항목을 큐에 넣고 가장 작은 것부터 꺼냄 (같은 SVID 는 앞 구간 먼저)
+            queue = new PriorityQueue<>(new Comparator<RunReader>() {
+                @Override
+                public int compare(RunReader a, RunReader b) {
+                    int result = SVID_ORDER.compare(a.current, b.current);
+                    return result != 0 ? result : Integer.compare(a.run, b.run);
+                }
+            });
+            for (int i = 0; i < runFiles.size(); i++) {
+                RunReader reader = new RunReader(runFiles.get(i), i);
+                readers.add(reader);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+        }
+
+        SVIDData next() throws IOException {
+            if (queue == null) {
+                return index < buffer.size() ? buffer.get(index++) : null;
+            }
+            RunReader reader = queue.poll();
+            if (reader == null) {
+                return null;
+            }
+            SVIDData data = reader.current;
+            if (reader.advance()) {
+                queue.add(reader);
+            }
+            return data;
+        }
+
+        // 같은 SVID 의 항목 중 마지막 것 (정렬이 안정적이므로 가장 나중에 읽은 항목)
+        // 이름이나 단위가 서로 다르면 경고
+        SVIDData nextDistinct(Consumer<String> warningHandler) throws IOException {
+            SVIDData data = pending != null ? pending : next();
+            pending = null;
+            if (data == null) {
+                return null;
+            }
+            int count = 1;
+            boolean conflict = false;
+            SVIDData following;
+            while ((following = next()) != null && following.getSvid().equals(data.getSvid())) {
+                conflict |= !text(following.getName()).equals(text(data.getName()))
+                        || !text(following.getUnit()).equals(text(data.getUnit()));
+                data = following;
+                count++;
+            }
+            pending = following;
+            if (conflict) {
+                warningHandler.accept(input.getFileName() + ": SVID " + data.getSvid() + " 항목이 " + count
+                        + "개이고 이름이나 단위가 달라서 마지막 항목으로 비교합니다");
+            }
+            return data;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (RunReader reader : readers) {
+                reader.in.close();
+            }
+            for (Path runFile : runFiles) {
+                Files.deleteIfExists(runFile);
+            }
+        }
+    }
+
+    private static class RunReader {
+        private final DataInputStream in;
+        private final int run;
+        private SVIDData current;
+
+        RunReader(Path runFile, int run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(runFile), 64 * 1024));
+            this.run = run;
+        }
+
+        boolean advance() throws IOException {
+            String svid;
+            try {
+                svid = readString(in);
+            } catch (EOFException e) {
+                current = null;
+                return false;
+            }
+            current = new SVIDData(svid, readString(in), readString(in));
+            return true;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
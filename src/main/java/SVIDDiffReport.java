@@ -0,0 +1,114 @@
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// 비교 결과 보고서 (CSV/TSV 또는 Excel 시트)
+// Excel 은 SXSSF 로 행을 흘려 쓰고 마지막에 종류별 건수 시트를 추가
+public class SVIDDiffReport implements SVIDDiff.Handler, Closeable {
+
+    private static final String[] HEADER = {"CHANGE", "SVID", "OLD NAME", "NEW NAME", "OLD UNIT", "NEW UNIT"};
+
+    private final Path output;
+    private DelimitedSink delimited;
+    private SXSSFWorkbook workbook;
+    private Sheet sheet;
+    private ColumnWidthEstimator widthEstimator;
+    private int rowNum;
+    private final int[] counts = new int[SVIDDiff.ChangeType.values().length];
+
+    // 확장자로 형식 결정 (.xlsx, .tsv, 나머지는 CSV)
+    public SVIDDiffReport(Path output) throws IOException {
+        this.output = output;
+        String name = output.getFileName().toString().toLowerCase();
+        if (name.endsWith(".xlsx")) {
+            workbook = new SXSSFWorkbook(null, SVIDExcelWriter.DEFAULT_WINDOW_SIZE, true);
+            sheet = workbook.createSheet("Diff");
+            widthEstimator = new ColumnWidthEstimator(HEADER.length);
+            appendRow(HEADER);
+        } else {
+            delimited = new DelimitedSink(output, name.endsWith(".tsv") ? '\t' : ',', HEADER);
+        }
+    }
+
+    @Override
+    public void changed(SVIDDiff.ChangeType type, SVIDData before, SVIDData after) throws IOException {
+        counts[type.ordinal()]++;
+        String[] values = {
+                type.name(),
+                before != null ? before.getSvid() : after.getSvid(),
+                before != null ? before.getName() : "",
+                after != null ? after.getName() : "",
+                before != null ? before.getUnit() : "",
+                after != null ? after.getUnit() : ""
+        };
+        if (delimited != null) {
+            delimited.writeRow(values);
+        } else {
+            appendRow(values);
+        }
+    }
+
+    private void appendRow(String[] values) {
+        Row row = sheet.createRow(rowNum++);
+        for (int i = 0; i < values.length; i++) {
+            String value = values[i] != null ? values[i] : "";
+            row.createCell(i).setCellValue(value);
+            widthEstimator.append(i, value);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delimited != null) {
+            delimited.close();
+            return;
+        }
+        try {
+            widthEstimator.apply(sheet);
+
+            // 종류별 건수
+            Sheet summary = workbook.createSheet("Summary");
+            ColumnWidthEstimator summaryWidths = new ColumnWidthEstimator(2);
+            int summaryRow = 0;
+            for (SVIDDiff.ChangeType type : SVIDDiff.ChangeType.values()) {
+                Row row = summary.createRow(summaryRow++);
+                row.createCell(0).setCellValue(type.name());
+                row.createCell(1).setCellValue(counts[type.ordinal()]);
+                summaryWidths.append(0, type.name());
+            }
+            summaryWidths.apply(summary);
+
+            Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+            try (FileOutputStream outputStream = new FileOutputStream(temp.toFile())) {
+                workbook.write(outputStream);
+            }
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            abort();
+        }
+    }
+
+    // 실패 시 보고서를 남기지 않음
+    public void abort() {
+        if (delimited != null) {
+            delimited.abort();
+        }
+        if (workbook != null) {
+            // 임시 파일 삭제
+            workbook.dispose();
+            try {
+                workbook.close();
+            } catch (IOException e) {
+                // 쓰지 않고 버리는 통합 문서
+            }
+            workbook = null;
+        }
+    }
+}
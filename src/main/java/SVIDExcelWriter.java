@@ -0,0 +1,293 @@
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCell;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+// SVID 목록을 Excel 파일로 저장 (행 수가 많으면 SXSSF 스트리밍 모드 사용)
+public class SVIDExcelWriter {
+
+    // 이 행 수를 넘으면 스트리밍 모드로 전환
+    public static final int DEFAULT_STREAMING_THRESHOLD = 50000;
+    // 스트리밍 모드에서 메모리에 유지하는 행 수 (나머지는 임시 파일로 flush)
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+
+    private int streamingThreshold = DEFAULT_STREAMING_THRESHOLD;
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    // true 이면 AWT 폰트 측정 기반 autoSizeColumn 사용 (느리고 폰트 환경이 필요함)
+    private boolean autoSizeColumns = false;
+
+    public int getStreamingThreshold() {
+        return streamingThreshold;
+    }
+
+    public void setStreamingThreshold(int streamingThreshold) {
+        this.streamingThreshold = streamingThreshold;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public boolean isAutoSizeColumns() {
+        return autoSizeColumns;
+    }
+
+    public void setAutoSizeColumns(boolean autoSizeColumns) {
+        this.autoSizeColumns = autoSizeColumns;
+    }
+
+    public boolean isStreaming(int rowCount) {
+        return rowCount > streamingThreshold;
+    }
+
+    public void write(List<SVIDData> svidDataList, String outputFile) throws IOException {
+        SVIDSink sink = open(outputFile);
+        try {
+            for (SVIDData data : svidDataList) {
+                sink.write(data);
+            }
+            sink.close();
+        } catch (IOException | RuntimeException e) {
+            sink.abort();
+            throw e;
+        }
+    }
+
+    // POI/OOXML 클래스 로드와 초기화를 미리 해 둠 (첫 변환에서 2초 가량 걸리는 부분)
+    // 일반 모드와 스트리밍 모드로 작은 임시 파일을 하나씩 저장한 뒤 삭제
+    public static void warmUp() {
+        for (int threshold : new int[]{Integer.MAX_VALUE, 0}) {
+            Path temp = null;
+            try {
+                temp = Files.createTempFile("svid-warmup-", ".xlsx");
+                SVIDExcelWriter writer = new SVIDExcelWriter();
+                writer.setStreamingThreshold(threshold);
+                writer.write(Arrays.asList(new SVIDData("1", "warm-up", "mm"), new SVIDData("2", "준비", "")), temp.toString());
+            } catch (IOException | RuntimeException e) {
+                // 미리 로드하지 못해도 변환할 때 로드됨
+            } finally {
+                if (temp != null) {
+                    try {
+                        Files.deleteIfExists(temp);
+                    } catch (IOException e) {
+                        // 임시 디렉터리의 작은 파일
+                    }
+                }
+            }
+        }
+    }
+
+    // 항목을 하나씩 받아 쓰는 출력
+    // 임계값까지는 모아 두었다가 넘으면 스트리밍 모드로 전환하므로 전체 개수를 미리 알 필요가 없음
+    public SVIDSink open(String outputFile) {
+        return new ExcelSink(outputFile);
+    }
+
+    private class ExcelSink implements SVIDSink {
+        private final String outputFile;
+        private final ColumnWidthEstimator widthEstimator = new ColumnWidthEstimator(3);
+        // 스트리밍 전환 전까지 모아 둔 항목
+        private SVIDRecordStore pending = new SVIDRecordStore();
+        private SXSSFWorkbook streamingWorkbook;
+        private Sheet sheet;
+        private int rowNum;
+        private ConversionMetrics metrics;
+
+        ExcelSink(String outputFile) {
+            this.outputFile = outputFile;
+        }
+
+        @Override
+        public void setMetrics(ConversionMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        private void stage(ConversionMetrics.Stage stage) {
+            if (metrics != null) {
+                metrics.switchTo(stage);
+            }
+        }
+
+        @Override
+        public void write(SVIDData data) throws IOException {
+            if (streamingWorkbook != null) {
+                appendRow(sheet, rowNum++, data, widthEstimator);
+                return;
+            }
+            pending.add(data);
+            if (isStreaming(pending.size())) {
+                // 임시 파일은 압축해서 디스크 사용량도 줄임
+                streamingWorkbook = new SXSSFWorkbook(null, windowSize, true);
+                SXSSFSheet streamingSheet = streamingWorkbook.createSheet("SVID Data");
+                if (autoSizeColumns) {
+                    // flush 된 행도 열 너비 계산에 반영되도록 미리 추적
+                    streamingSheet.trackAllColumnsForAutoSizing();
+                }
+                sheet = streamingSheet;
+                createHeader(sheet, widthEstimator);
+                rowNum = 1;
+                for (int i = 0; i < pending.size(); i++) {
+                    appendRow(sheet, rowNum++, pending.get(i), widthEstimator);
+                }
+                pending = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (streamingWorkbook == null) {
+                // 모아 둔 항목의 셀은 여기서 만들어지므로 행 생성 단계로 기록
+                stage(ConversionMetrics.Stage.ROWS);
+                try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+                    XSSFSheet xssfSheet = workbook.createSheet("SVID Data");
+                    createHeader(xssfSheet, widthEstimator);
+                    appendRows(workbook, xssfSheet, pending, widthEstimator);
+                    stage(ConversionMetrics.Stage.COLUMN_WIDTH);
+                    finishSheet(xssfSheet, widthEstimator);
+                    stage(ConversionMetrics.Stage.SAVE);
+                    save(workbook, outputFile);
+                }
+                pending = null;
+                return;
+            }
+            try {
+                stage(ConversionMetrics.Stage.COLUMN_WIDTH);
+                finishSheet(sheet, widthEstimator);
+                stage(ConversionMetrics.Stage.SAVE);
+                save(streamingWorkbook, outputFile);
+            } finally {
+                abort();
+            }
+        }
+
+        @Override
+        public void abort() {
+            pending = null;
+            if (streamingWorkbook != null) {
+                // 임시 파일 삭제
+                streamingWorkbook.dispose();
+                try {
+                    streamingWorkbook.close();
+                } catch (IOException e) {
+                    // 쓰지 않고 버리는 통합 문서
+                }
+                streamingWorkbook = null;
+            }
+        }
+    }
+
+    private static void createHeader(Sheet sheet, ColumnWidthEstimator widthEstimator) {
+        // 헤더 생성
+        Row headerRow = sheet.createRow(0);
+        Cell headerCell1 = headerRow.createCell(0);
+        headerCell1.setCellValue("SVID");
+        Cell headerCell2 = headerRow.createCell(1);
+        headerCell2.setCellValue("NAME");
+        Cell headerCell3 = headerRow.createCell(2);
+        headerCell3.setCellValue("UNIT");
+        widthEstimator.append(0, "SVID");
+        widthEstimator.append(1, "NAME");
+        widthEstimator.append(2, "UNIT");
+    }
+
+    private static void appendRow(Sheet sheet, int rowNum, SVIDData data, ColumnWidthEstimator widthEstimator) {
+        Row row = sheet.createRow(rowNum);
+
+        String name = data.getName() != null ? data.getName() : "";
+        String unit = data.getUnit() != null ? data.getUnit() : "";
+
+        Cell cell1 = row.createCell(0);
+        cell1.setCellValue(data.getSvid());
+
+        Cell cell2 = row.createCell(1);
+        cell2.setCellValue(name);
+
+        Cell cell3 = row.createCell(2);
+        cell3.setCellValue(unit);
+
+        widthEstimator.append(0, data.getSvid());
+        widthEstimator.append(1, name);
+        widthEstimator.append(2, unit);
+    }
+
+    // 모아 둔 항목을 XSSF 시트에 씀
+    // NAME/UNIT 은 사전의 문자열마다 한 번만 공유 문자열 표에 넣고 셀에는 번호만 기록
+    // (setCellValue 는 셀마다 문자열을 XML 로 직렬화해서 공유 문자열 표를 검색함)
+    // SVID 는 대부분 서로 다르므로 공유 문자열 표에 넣지 않고 셀에 바로 씀 (SXSSF 와 같은 inlineStr)
+    private static void appendRows(XSSFWorkbook workbook, XSSFSheet sheet, SVIDRecordStore records,
+                                   ColumnWidthEstimator widthEstimator) {
+        SharedStringsTable strings = workbook.getSharedStringSource();
+        int[] nameRefs = sharedStringRefs(strings, records.getNames());
+        int[] unitRefs = sharedStringRefs(strings, records.getUnits());
+        // 사전의 문자열은 모두 어떤 항목에서 쓰이므로 열 너비는 사전만 보면 됨
+        for (String name : records.getNames()) {
+            widthEstimator.append(1, name);
+        }
+        for (String unit : records.getUnits()) {
+            widthEstimator.append(2, unit);
+        }
+
+        for (int i = 0; i < records.size(); i++) {
+            XSSFRow row = sheet.createRow(i + 1);
+            String svid = records.getSvid(i);
+            CTCell svidCell = row.createCell(0).getCTCell();
+            svidCell.setT(STCellType.INLINE_STR);
+            svidCell.addNewIs().setT(svid);
+            widthEstimator.append(0, svid);
+
+            CTCell nameCell = row.createCell(1).getCTCell();
+            nameCell.setT(STCellType.S);
+            nameCell.setV(Integer.toString(nameRefs[records.getNameId(i)]));
+
+            CTCell unitCell = row.createCell(2).getCTCell();
+            unitCell.setT(STCellType.S);
+            unitCell.setV(Integer.toString(unitRefs[records.getUnitId(i)]));
+        }
+    }
+
+    private static int[] sharedStringRefs(SharedStringsTable strings, List<String> values) {
+        int[] refs = new int[values.size()];
+        for (int i = 0; i < refs.length; i++) {
+            refs[i] = strings.addSharedStringItem(new XSSFRichTextString(values.get(i)));
+        }
+        return refs;
+    }
+
+    void finishSheet(Sheet sheet, ColumnWidthEstimator widthEstimator) {
+        // 열 너비 조정
+        if (autoSizeColumns) {
+            for (int i = 0; i < 3; i++) {
+                sheet.autoSizeColumn(i);
+            }
+        } else {
+            widthEstimator.apply(sheet);
+        }
+    }
+
+    private static void save(Workbook workbook, String outputFile) throws IOException {
+        // 파일 저장
+        try (FileOutputStream outputStream = new FileOutputStream(outputFile)) {
+            workbook.write(outputStream);
+        }
+    }
+}
@@ -1,186 +1,593 @@
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-
 import java.io.*;
+import java.nio.charset.Charset;
 import java.nio.file.*;
 import java.util.*;
-import java.util.regex.*;
 
+// 화면 없이 실행하는 명령행 변환기 (파일/디렉터리/glob 입력, 디렉터리 감시 모드, 로컬 변환 서버)
 public class SVIDExtractor {
 
-    static class SVIDData {
-        private String svid;
-        private String name;
-        private String unit;
+    // 감시 모드에서 파일 크기가 이 시간 동안 변하지 않으면 쓰기가 끝난 것으로 판단
+    private static final long SETTLE_MILLIS = 1000;
+
+    public static void main(String[] args) {
+        // 서버 환경에서는 디스플레이가 없으므로 AWT 를 headless 로 사용
+        System.setProperty("java.awt.headless", "true");
+        System.exit(run(args));
+    }
+
+    public static int run(String[] args) {
+        List<String> inputs = new ArrayList<>();
+        File outputDirectory = null;
+        // null 이면 파일마다 판별
+        Charset charset = null;
+        int threads = BatchConverter.defaultThreadCount();
+        boolean watch = false;
+        boolean autoSize = false;
+        boolean incremental = false;
+        boolean pipelined = false;
+        // 모든 입력을 시트로 담는 통합 Excel 파일
+        File combinedOutput = null;
+        boolean indexSheet = false;
+        // 로컬 변환 서버 포트 (null 이면 서버 모드 아님)
+        Integer servePort = null;
+        Path manifest = null;
+        NamelistProjection projection = null;
+        OutputFormat format = OutputFormat.XLSX;
+        Path indexFile = null;
+        Path diffReport = null;
+        // 측정값 내보내기 파일 (.prom 이면 Prometheus 텍스트, 나머지는 JSON)
+        Path metricsFile = null;
+        // 파일별 측정값 표 출력 (-m 을 지정해도 켜짐)
+        boolean stats = false;
+        // 통합 인덱스 조회 조건
+        String findTool = null;
+        String findSvid = null;
+        String findName = null;
+        String findUnit = null;
+        int findLimit = 100;
 
-        public SVIDData(String svid, String name, String unit) {
-            this.svid = svid;
-            this.name = name;
-            this.unit = unit;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "-o":
+                    case "--output":
+                        outputDirectory = new File(requireValue(args, ++i, arg));
+                        break;
+                    case "-c":
+                    case "--charset":
+                        String charsetName = requireValue(args, ++i, arg);
+                        charset = "auto".equalsIgnoreCase(charsetName) ? null : Charset.forName(charsetName);
+                        break;
+                    case "-j":
+                    case "--threads":
+                        threads = Integer.parseInt(requireValue(args, ++i, arg));
+                        break;
+                    case "-t":
+                    case "--type":
+                        String type = requireValue(args, ++i, arg);
+                        projection = "auto".equalsIgnoreCase(type) ? null : NamelistProjection.forName(type);
+                        break;
+                    case "-f":
+                    case "--format":
+                        format = OutputFormat.forName(requireValue(args, ++i, arg));
+                        break;
+                    case "-w":
+                    case "--watch":
+                        watch = true;
+                        break;
+                    case "-i":
+                    case "--incremental":
+                        incremental = true;
+                        break;
+                    case "--manifest":
+                        manifest = Paths.get(requireValue(args, ++i, arg));
+                        incremental = true;
+                        break;
+                    case "-x":
+                    case "--index":
+                        indexFile = Paths.get(requireValue(args, ++i, arg));
+                        break;
+                    case "-m":
+                    case "--metrics":
+                        metricsFile = Paths.get(requireValue(args, ++i, arg));
+                        stats = true;
+                        break;
+                    case "-s":
+                    case "--stats":
+                        stats = true;
+                        break;
+                    case "--diff":
+                        diffReport = Paths.get(requireValue(args, ++i, arg));
+                        break;
+                    case "--tool":
+                        findTool = requireValue(args, ++i, arg);
+                        break;
+                    case "--svid":
+                        findSvid = requireValue(args, ++i, arg);
+                        break;
+                    case "--name":
+                        findName = requireValue(args, ++i, arg);
+                        break;
+                    case "--unit":
+                        findUnit = requireValue(args, ++i, arg);
+                        break;
+                    case "--limit":
+                        findLimit = Integer.parseInt(requireValue(args, ++i, arg));
+                        break;
+                    case "-p":
+                    case "--pipeline":
+                        pipelined = true;
+                        break;
+                    case "--autosize":
+                        autoSize = true;
+                        break;
+                    case "--combine":
+                        combinedOutput = new File(requireValue(args, ++i, arg));
+                        break;
+                    case "--index-sheet":
+                        indexSheet = true;
+                        break;
+                    case "--serve":
+                        servePort = Integer.parseInt(requireValue(args, ++i, arg));
+                        break;
+                    case "-h":
+                    case "--help":
+                        printUsage(System.out);
+                        return 0;
+                    default:
+                        if (arg.startsWith("-")) {
+                            throw new IllegalArgumentException("알 수 없는 옵션입니다: " + arg);
+                        }
+                        inputs.add(arg);
+                }
+            }
+            if (servePort != null && (!inputs.isEmpty() || watch || incremental || combinedOutput != null || indexFile != null)) {
+                throw new IllegalArgumentException("--serve 는 입력 파일, --watch, --incremental, --combine, --index 와 함께 쓸 수 없습니다");
+            }
+            boolean find = findTool != null || findSvid != null || findName != null || findUnit != null;
+            if (find && indexFile == null) {
+                throw new IllegalArgumentException("조회하려면 --index 로 통합 인덱스 파일을 지정하세요");
+            }
+            if (find && inputs.isEmpty()) {
+                return findInIndex(indexFile, findTool, findSvid, findName, findUnit, findLimit);
+            }
+            if (servePort == null && inputs.isEmpty()) {
+                throw new IllegalArgumentException("입력 파일을 지정하세요");
+            }
+            if (diffReport != null && inputs.size() != 2) {
+                throw new IllegalArgumentException("비교할 이전 목록과 새 목록 두 파일을 지정하세요");
+            }
+            if (indexSheet && combinedOutput == null) {
+                throw new IllegalArgumentException("--index-sheet 는 --combine 과 함께 사용하세요");
+            }
+            if (combinedOutput != null && (watch || incremental || format != OutputFormat.XLSX)) {
+                throw new IllegalArgumentException("--combine 은 xlsx 형식에서만 쓸 수 있고 --watch, --incremental 과 함께 쓸 수 없습니다");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("오류 발생: " + e.getMessage());
+            printUsage(System.err);
+            return 2;
         }
 
-        public String getSvid() {
-            return svid;
+        if (outputDirectory != null && !outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+            System.err.println("출력 디렉터리를 만들 수 없습니다: " + outputDirectory);
+            return 1;
         }
 
-        public String getName() {
-            return name;
+        if (servePort != null) {
+            return serve(servePort, threads, format, charset, projection, outputDirectory);
         }
 
-        public String getUnit() {
-            return unit;
+        if (diffReport != null) {
+            return diff(Paths.get(inputs.get(0)), Paths.get(inputs.get(1)), diffReport, charset, projection);
         }
-    }
 
-    public static void main(String[] args) {
-        String fileName = "LTS40_SVID LIST";
-        String inputFile = "C:\\Users\\Drimsys\\Desktop\\나노팹\\SVID 관련 작업\\SVID_SSL 작업\\" + fileName + ".txt";
-        String outputFile = "C:\\Users\\Drimsys\\Desktop\\나노팹\\SVID 관련 작업\\SVID_SSL 작업\\" + fileName + ".xlsx";
+        BatchConverter converter = new BatchConverter(threads, charset);
+        converter.setOutputDirectory(outputDirectory);
+        converter.setProjection(projection);
+        converter.setOutputFormat(format);
+        converter.setPipelined(pipelined);
+        converter.setCombinedOutput(combinedOutput);
+        converter.setIndexSheet(indexSheet);
+        converter.setCollectMetrics(stats);
+        converter.getExcelWriter().setAutoSizeColumns(autoSize);
+        ConsoleListener listener = new ConsoleListener(metricsFile);
 
         try {
-            List<SVIDData> svidDataList = extractSVIDData(inputFile);
-            createExcelFile(svidDataList, outputFile);
-            System.out.println("Excel 파일이 성공적으로 생성되었습니다: " + outputFile);
+            if (incremental) {
+                if (manifest == null) {
+                    manifest = Paths.get(outputDirectory != null ? outputDirectory.getPath() : ".", ConversionCache.DEFAULT_FILE_NAME);
+                }
+                converter.setCache(ConversionCache.load(manifest));
+            }
+
+            List<File> files = new ArrayList<>();
+            List<Path> watchDirectories = new ArrayList<>();
+            for (String input : inputs) {
+                if (!isGlob(input) && Files.isDirectory(Paths.get(input))) {
+                    watchDirectories.add(Paths.get(input));
+                }
+                files.addAll(expandInput(input));
+            }
+
+            if (indexFile != null) {
+                if (files.isEmpty()) {
+                    System.err.println("변환할 파일이 없습니다.");
+                    return 1;
+                }
+                return buildIndex(indexFile, files, charset, projection);
+            }
+
+            if (watch) {
+                if (watchDirectories.isEmpty()) {
+                    System.err.println("감시 모드에는 입력 디렉터리가 필요합니다.");
+                    return 2;
+                }
+                watch(watchDirectories, files, converter, listener);
+                return 0;
+            }
+
+            if (files.isEmpty()) {
+                System.err.println("변환할 파일이 없습니다.");
+                return 1;
+            }
+            converter.convert(files, listener);
+            listener.reportMetrics();
+            return listener.failed > 0 ? 1 : 0;
         } catch (IOException e) {
             System.err.println("오류 발생: " + e.getMessage());
             e.printStackTrace();
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
         }
     }
 
-    private static List<SVIDData> extractSVIDData(String fileName) throws IOException {
-        List<SVIDData> svidDataList = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
-            String line;
-            boolean foundRootList = false;
-
-            String currentSvid = null;
-            String currentName = null;
-            String currentUnit = null;
-            int currentSublistIndex = 0;
-
-            while ((line = reader.readLine()) != null) {
-                // 루트 리스트 찾기
-                if (!foundRootList && line.trim().startsWith("L[")) {
-                    Pattern pattern = Pattern.compile("L\\[(\\d+)\\]");
-                    Matcher matcher = pattern.matcher(line);
-                    if (matcher.find()) {
-                        foundRootList = true;
-                        continue;
+    private static String requireValue(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(option + " 옵션에 값이 필요합니다");
+        }
+        return args[index];
+    }
+
+    private static void printUsage(PrintStream out) {
+        out.println("사용법: SVIDExtractor [옵션] <입력 파일|디렉터리|glob>...");
+        out.println("  (.xlsx, .svc, .sml 입력 파일은 변환 결과로 읽어서 다른 형식으로 출력)");
+        out.println("  -o, --output <dir>     출력 디렉터리 (기본: 입력 파일과 같은 위치)");
+        out.println("  -c, --charset <name>   입력 파일 인코딩: auto (BOM, UTF-8, CP949 순으로 파일마다 판별) 또는 인코딩 이름 (기본: auto)");
+        out.println("  -j, --threads <n>      동시에 변환할 파일 수 (기본: " + BatchConverter.defaultThreadCount() + ")");
+        out.println("  -t, --type <type>      목록 종류: auto, svid (S1F12), ecid (S2F30), ceid (S1F24), rptid (S2F33) (기본: auto)");
+        out.println("  -f, --format <format>  출력 형식: xlsx, csv, tsv, svc (열 단위 바이너리), sml (.sml 텍스트) (기본: xlsx)");
+        out.println("  -p, --pipeline         파일마다 쓰기 스레드를 따로 두어 파싱과 출력을 겹쳐서 실행");
+        out.println("  -w, --watch            입력 디렉터리를 감시하면서 새 .txt 파일을 변환");
+        out.println("  -s, --stats            파일별 측정값 (단계별 시간, 할당량, 최대 힙) 표 출력");
+        out.println("  -m, --metrics <file>   파일별 측정값 표 출력과 저장 (.prom 이면 Prometheus 텍스트, 나머지는 JSON)");
+        out.println("  -i, --incremental      이전 변환 이후 바뀌지 않은 파일은 건너뜀");
+        out.println("      --manifest <file>  변환 기록 파일 (기본: 출력 디렉터리의 " + ConversionCache.DEFAULT_FILE_NAME + ")");
+        out.println("      --diff <report>    두 입력 (이전 목록, 새 목록) 비교 보고서 작성 (.csv, .tsv, .xlsx)");
+        out.println("  -x, --index <file>     입력을 장비별로 통합 인덱스에 추가 (같은 장비는 교체, 장비 이름은 파일명)");
+        out.println("      --tool, --svid, --name, --unit <값>");
+        out.println("                         입력 없이 --index 와 함께 쓰면 통합 인덱스 조회 (이름은 일부 일치)");
+        out.println("      --limit <n>        조회 결과 최대 개수 (기본: 100)");
+        out.println("      --autosize         AWT 폰트 측정으로 열 너비 조정 (느림)");
+        out.println("      --combine <file>   모든 입력을 파일마다 시트 하나씩 통합 Excel 파일 하나로 저장");
+        out.println("      --index-sheet      통합 Excel 파일의 첫 시트에 목차 (시트 링크, 입력 파일, 항목 수) 추가");
+        out.println("      --serve <port>     로컬 변환 서버로 실행 (127.0.0.1, 동시 변환 수는 -j, -f/-c/-t/-o 는 요청의 기본값)");
+        out.println("                         POST /convert?format=&type=&charset=  본문의 SML 텍스트를 변환한 결과 파일 응답");
+        out.println("                         POST /convert?path=<입력>[&output=<출력>]  파일을 변환하고 출력 경로 응답 (JSON)");
+        out.println("                         (output 은 -o 또는 입력 파일의 디렉터리 안만 허용, Origin 헤더가 있는 요청은 거부)");
+        out.println("                         GET  /health  상태와 처리 건수");
+        out.println("  -h, --help             도움말");
+    }
+
+    // 종료 신호 (Ctrl+C, kill) 를 받을 때까지 로컬 변환 서버 실행
+    private static int serve(int port, int threads, OutputFormat format, Charset charset, NamelistProjection projection,
+                             File outputDirectory) {
+        SVIDConversionServer server;
+        try {
+            server = new SVIDConversionServer(port, threads);
+        } catch (IOException e) {
+            System.err.println("오류 발생: 서버를 시작할 수 없습니다 - " + e.getMessage());
+            return 1;
+        }
+        server.setDefaultFormat(format);
+        server.setCharset(charset);
+        server.setProjection(projection);
+        server.setOutputDirectory(outputDirectory);
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                server.stop(1);
+            }
+        }, "svid-server-stop"));
+        server.start();
+        System.out.println("변환 서버 시작: http://127.0.0.1:" + server.getPort() + " (동시 변환 " + server.getMaxConcurrent() + "개)");
+        try {
+            server.awaitStop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+
+    // 입력 파일을 장비별로 파싱해서 통합 인덱스에 추가 (기존 인덱스의 다른 장비 목록은 유지)
+    private static int buildIndex(Path indexFile, List<File> files, Charset charset, NamelistProjection projection) throws IOException {
+        SVIDMasterIndex.Builder builder = new SVIDMasterIndex.Builder();
+        Set<String> tools = new HashSet<>();
+        for (File file : files) {
+            tools.add(SVIDMasterIndex.toolNameOf(file));
+        }
+        if (Files.isRegularFile(indexFile)) {
+            builder.addAll(SVIDMasterIndex.open(indexFile), tools);
+        }
+
+        int failed = 0;
+        SVIDParser parser = new SMLFileParser(charset, projection);
+        for (final File file : files) {
+            final String tool = SVIDMasterIndex.toolNameOf(file);
+            final int before = builder.size();
+            System.out.println("파일 처리 중: " + file.getPath() + " (장비 " + tool + ")");
+            try {
+                parser.parse(file.toPath(), new java.util.function.Consumer<SVIDData>() {
+                    @Override
+                    public void accept(SVIDData data) {
+                        builder.add(tool, data);
+                    }
+                }, new java.util.function.Consumer<String>() {
+                    @Override
+                    public void accept(String warning) {
+                        System.err.println("경고: " + file.getPath() + " - " + warning);
                     }
+                });
+                System.out.println("추가 완료: " + tool + " (" + (builder.size() - before) + "건)");
+            } catch (IOException | RuntimeException e) {
+                failed++;
+                System.err.println("오류 발생: " + file.getPath() + " - " + e.getMessage());
+            }
+        }
+
+        builder.write(indexFile);
+        SVIDMasterIndex index = SVIDMasterIndex.open(indexFile);
+        System.out.println("통합 인덱스 저장: " + indexFile + " (" + index.size() + "건, 장비 " + index.getTools().size() + "개)");
+        return failed > 0 ? 1 : 0;
+    }
+
+    // 이전 목록과 새 목록의 추가/삭제/이름 변경/단위 변경 보고서
+    private static int diff(Path before, Path after, Path report, Charset charset, NamelistProjection projection) {
+        SVIDDiff diff = new SVIDDiff(new SMLFileParser(charset, projection));
+        SVIDDiffReport diffReport = null;
+        try {
+            diffReport = new SVIDDiffReport(report);
+            diff.diff(before, after, new java.util.function.Consumer<String>() {
+                @Override
+                public void accept(String warning) {
+                    System.err.println("경고: " + warning);
                 }
+            }, diffReport);
+            diffReport.close();
+        } catch (IOException | RuntimeException e) {
+            if (diffReport != null) {
+                diffReport.abort();
+            }
+            System.err.println("오류 발생: " + e.getMessage());
+            return 1;
+        }
 
-                if (foundRootList) {
-                    // 서브리스트 시작 감지
-                    if (line.trim().startsWith("L[3]")) {
-                        currentSublistIndex = 0;
-                        currentSvid = null;
-                        currentName = null;
-                        currentUnit = null;
-                        continue;
+        System.out.println("비교 완료: " + report);
+        for (SVIDDiff.ChangeType type : SVIDDiff.ChangeType.values()) {
+            System.out.println(String.format("  %-22s %d", type.name(), diff.getCount(type)));
+        }
+        System.out.println(String.format("  %-22s %d", "UNCHANGED", diff.getUnchangedCount()));
+        return 0;
+    }
+
+    // 통합 인덱스 조회 결과를 탭으로 구분해서 출력 (장비, SVID, NAME, UNIT)
+    private static int findInIndex(Path indexFile, String tool, String svid, String name, String unit, int limit) {
+        try {
+            SVIDMasterIndex index = SVIDMasterIndex.open(indexFile);
+            int[] records = index.query(tool, svid, name, unit, limit);
+            for (int record : records) {
+                System.out.println(index.getTool(record) + "\t" + index.getSvid(record) + "\t"
+                        + index.getName(record) + "\t" + index.getUnit(record));
+            }
+            return records.length > 0 ? 0 : 1;
+        } catch (IOException e) {
+            System.err.println("오류 발생: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    // 파일, 디렉터리 (안의 .txt 파일), glob 패턴을 파일 목록으로 변환
+    // 디렉터리와 glob 에서는 이전 변환 결과 (BatchConverter.isGeneratedOutput) 를 뺌
+    static List<File> expandInput(String input) throws IOException {
+        List<File> files = new ArrayList<>();
+
+        if (isGlob(input)) {
+            // glob 문자 앞까지를 기준 디렉터리로 사용
+            int globStart = firstGlobChar(input);
+            int separator = Math.max(input.lastIndexOf('/', globStart), input.lastIndexOf('\\', globStart));
+            Path base = separator < 0 ? Paths.get(".") : Paths.get(input.substring(0, separator + 1));
+            String pattern = separator < 0 ? input : input.substring(separator + 1);
+            PathMatcher matcher = base.getFileSystem().getPathMatcher("glob:" + pattern);
+            int depth = pattern.contains("**") ? Integer.MAX_VALUE : pattern.split("[/\\\\]").length;
+
+            try (java.util.stream.Stream<Path> stream = Files.walk(base, depth)) {
+                Iterator<Path> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    Path candidate = iterator.next();
+                    if (Files.isRegularFile(candidate) && matcher.matches(base.relativize(candidate))
+                            && !BatchConverter.isGeneratedOutput(candidate.toFile())) {
+                        files.add(candidate.toFile());
                     }
+                }
+            }
+            Collections.sort(files);
+            return files;
+        }
+
+        Path path = Paths.get(input);
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path, "*.txt")) {
+                for (Path candidate : stream) {
+                    if (Files.isRegularFile(candidate) && !BatchConverter.isGeneratedOutput(candidate.toFile())) {
+                        files.add(candidate.toFile());
+                    }
+                }
+            }
+            Collections.sort(files);
+        } else if (Files.isRegularFile(path)) {
+            files.add(path.toFile());
+        } else {
+            System.err.println("파일을 찾을 수 없습니다: " + input);
+        }
+        return files;
+    }
+
+    private static boolean isGlob(String input) {
+        return firstGlobChar(input) >= 0;
+    }
+
+    private static int firstGlobChar(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{') {
+                return i;
+            }
+        }
+        return -1;
+    }
 
-                    currentSublistIndex++;
+    // 기존 파일을 변환한 뒤, 디렉터리에 새로 생성되거나 변경된 .txt 파일을 쓰기가 끝나면 변환 (종료할 때까지 반복)
+    private static void watch(List<Path> directories, List<File> existingFiles, BatchConverter converter,
+                              ConsoleListener listener) throws IOException, InterruptedException {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            Map<WatchKey, Path> keys = new HashMap<>();
+            for (Path directory : directories) {
+                WatchKey key = directory.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                keys.put(key, directory);
+                System.out.println("디렉터리 감시 중: " + directory.toAbsolutePath());
+            }
 
-                    // SVID 추출 (첫 번째 항목)
-                    if (currentSublistIndex == 1) {
-                        Pattern svidPattern = Pattern.compile("I2\\[(\\d+)\\]|U4\\[(\\d+)\\]");
-                        Matcher svidMatcher = svidPattern.matcher(line);
-                        if (svidMatcher.find()) {
-                            currentSvid = svidMatcher.group(1) != null ? svidMatcher.group(1) : svidMatcher.group(2);
+            // 감시를 먼저 등록해야 기존 파일을 변환하는 동안 들어온 파일도 놓치지 않음
+            if (!existingFiles.isEmpty()) {
+                converter.convert(existingFiles, listener);
+                listener.reportMetrics();
+            }
+
+            // 쓰기가 끝나기를 기다리는 파일 -> 마지막으로 확인한 크기와 시각
+            Map<Path, long[]> pending = new LinkedHashMap<>();
+            while (true) {
+                WatchKey key = watchService.poll(SETTLE_MILLIS / 2, java.util.concurrent.TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    Path directory = keys.get(key);
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            continue;
                         }
-                    }
-                    // NAME 추출 (두 번째 항목)
-                    else if (currentSublistIndex == 2) {
-                        if (line.trim().equals("A")) {
-                            // NAME이 비어있는 경우
-                            currentName = "";
-                        } else {
-                            // A 다음에 있는 대괄호 안의 전체 내용을 추출
-                            int startIdx = line.indexOf("A[") + 2;
-                            if (startIdx > 1) {  // A[ 로 시작하는 경우
-                                // 마지막 대괄호 위치 찾기 (라인의 마지막 문자가 ] 인 경우)
-                                int endIdx = line.lastIndexOf("]");
-                                if (endIdx > startIdx) {
-                                    currentName = line.substring(startIdx, endIdx);
-                                } else {
-                                    currentName = "";
-                                }
-                            } else {
-                                currentName = "";
-                            }
+                        Path file = directory.resolve((Path) event.context());
+                        if (file.getFileName().toString().toLowerCase().endsWith(".txt") && !BatchConverter.isGeneratedOutput(file.toFile())) {
+                            pending.put(file, new long[]{-1, System.currentTimeMillis()});
                         }
                     }
-                    // UNIT 추출 (세 번째 항목)
-                    else if (currentSublistIndex == 3) {
-                        if (line.trim().equals("A")) {
-                            currentUnit = "";
-                        } else {
-                            // A 다음에 있는 대괄호 안의 전체 내용을 추출
-                            int startIdx = line.indexOf("A[") + 2;
-                            if (startIdx > 1) {  // A[ 로 시작하는 경우
-                                // 마지막 대괄호 위치 찾기
-                                int endIdx = line.lastIndexOf("]");
-                                if (endIdx > startIdx) {
-                                    currentUnit = line.substring(startIdx, endIdx);
-                                } else {
-                                    currentUnit = "";
-                                }
-                            } else {
-                                currentUnit = "";
-                            }
+                    if (!key.reset()) {
+                        keys.remove(key);
+                        if (keys.isEmpty()) {
+                            System.err.println("감시할 디렉터리가 없습니다.");
+                            return;
                         }
+                    }
+                }
 
-                        // 서브리스트의 마지막 항목이므로 데이터 추가
-                        if (currentSvid != null) {
-                            svidDataList.add(new SVIDData(currentSvid, currentName, currentUnit));
-                        }
+                List<File> ready = new ArrayList<>();
+                long now = System.currentTimeMillis();
+                Iterator<Map.Entry<Path, long[]>> iterator = pending.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<Path, long[]> entry = iterator.next();
+                    Path file = entry.getKey();
+                    long[] state = entry.getValue();
+                    if (!Files.isRegularFile(file)) {
+                        iterator.remove();
+                        continue;
+                    }
+                    long size = Files.size(file);
+                    if (size != state[0]) {
+                        state[0] = size;
+                        state[1] = now;
+                    } else if (now - state[1] >= SETTLE_MILLIS) {
+                        ready.add(file.toFile());
+                        iterator.remove();
                     }
                 }
+                if (!ready.isEmpty()) {
+                    converter.convert(ready, listener);
+                    listener.reportMetrics();
+                }
             }
         }
-
-        return svidDataList;
     }
 
-    private static void createExcelFile(List<SVIDData> svidDataList, String outputFile) throws IOException {
-        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
-            XSSFSheet sheet = workbook.createSheet("SVID Data");
-
-            // 헤더 생성
-            Row headerRow = sheet.createRow(0);
-            Cell headerCell1 = headerRow.createCell(0);
-            headerCell1.setCellValue("SVID");
-            Cell headerCell2 = headerRow.createCell(1);
-            headerCell2.setCellValue("NAME");
-            Cell headerCell3 = headerRow.createCell(2);
-            headerCell3.setCellValue("UNIT");
+    // 변환 진행 상황을 콘솔에 출력
+    private static class ConsoleListener implements BatchConverter.Listener {
+        private final Path metricsFile;
+        private final MetricsReport metrics = new MetricsReport();
+        private int failed;
 
-            // 데이터 채우기
-            int rowNum = 1;
-            for (SVIDData data : svidDataList) {
-                Row row = sheet.createRow(rowNum++);
+        ConsoleListener(Path metricsFile) {
+            this.metricsFile = metricsFile;
+        }
 
-                Cell cell1 = row.createCell(0);
-                cell1.setCellValue(data.getSvid());
+        // 변환한 파일별 측정값 표를 출력하고 내보낸 뒤 비움 (감시 모드에서는 변환할 때마다)
+        void reportMetrics() {
+            if (metrics.isEmpty()) {
+                return;
+            }
+            System.out.println();
+            metrics.printTable(System.out);
+            if (metricsFile != null) {
+                try {
+                    metrics.write(metricsFile);
+                } catch (IOException e) {
+                    System.err.println("측정값을 저장하지 못했습니다: " + metricsFile + " - " + e.getMessage());
+                }
+            }
+            metrics.clear();
+        }
 
-                Cell cell2 = row.createCell(1);
-                cell2.setCellValue(data.getName() != null ? data.getName() : "");
+        @Override
+        public void fileStarted(File input) {
+            System.out.println("파일 처리 중: " + input.getPath());
+        }
 
-                Cell cell3 = row.createCell(2);
-                cell3.setCellValue(data.getUnit() != null ? data.getUnit() : "");
+        @Override
+        public void fileConverted(File input, File output, int recordCount, ConversionMetrics metrics) {
+            System.out.println("변환 완료: " + output.getPath() + " (" + recordCount + "건)");
+            if (metrics != null) {
+                this.metrics.add(metrics);
             }
+        }
 
-            // 열 너비 자동 조정
-            for (int i = 0; i < 3; i++) {
-                sheet.autoSizeColumn(i);
-            }
+        @Override
+        public synchronized void fileFailed(File input, Throwable error) {
+            failed++;
+            System.err.println("오류 발생: " + input.getPath() + " - " + (error.getMessage() != null ? error.getMessage() : error));
+        }
 
-            // 파일 저장
-            try (FileOutputStream outputStream = new FileOutputStream(outputFile)) {
-                workbook.write(outputStream);
-            }
+        @Override
+        public void fileSkipped(File input, File output) {
+            System.out.println("변경 없음, 건너뜀: " + input.getPath());
+        }
+
+        @Override
+        public void fileWarning(File input, String message) {
+            System.err.println("경고: " + input.getPath() + " - " + message);
+        }
+
+        @Override
+        public void batchSaved(File output, int sheetCount) {
+            System.out.println("통합 문서 저장: " + output.getPath() + " (" + sheetCount + "개 시트)");
         }
     }
-}
\ No newline at end of file
+}
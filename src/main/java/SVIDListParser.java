@@ -0,0 +1,290 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+// SML 의 루트 리스트 아래 항목들을 SECS-II 아이템 트리로 읽고 목록 종류(SVID/ECID/CEID/RPTID)에 맞게 변환
+// 형식이 맞지 않는 항목은 건너뛰고 경고로 남김
+public class SVIDListParser {
+
+    // 보관하는 경고 메시지 최대 개수 (나머지는 개수만 셈)
+    private static final int MAX_WARNINGS = 100;
+
+    private NamelistProjection projection;
+    private final List<String> warningMessages = new ArrayList<>();
+    private final List<Integer> warningLines = new ArrayList<>();
+    private int warningCount;
+    private int entryCount;
+    // 트레이스에서 변환한 메시지 수
+    private int messageCount;
+    // 트레이스에서 목록 종류가 달라서 건너뛴 목록 응답 수
+    private int skippedMessageCount;
+    // true 이면 메시지 본문의 항목만 변환 (다음 메시지 헤더에서 멈추고, 구분 줄은 경고 없이 건너뜀)
+    private boolean messageBody;
+    // 다음 메시지 헤더에서 멈춘 경우 그 줄 번호 (멈추지 않았으면 0)
+    private int stoppedLine;
+    // 메시지 본문에서 읽을 최대 항목 수 (넘는 항목은 다음 메시지 헤더까지 경고 없이 건너뜀, -1 이면 제한 없음)
+    private int entryLimit = -1;
+    private int declaredCount = -1;
+    // 읽은 줄 수 (청크 결과를 합칠 때 줄 번호 보정에 사용)
+    private int lineCount;
+
+    // 첫 항목의 모양으로 목록 종류를 추정
+    public SVIDListParser() {
+    }
+
+    public SVIDListParser(NamelistProjection projection) {
+        this.projection = projection;
+    }
+
+    public List<SVIDData> parse(Reader reader) throws IOException {
+        return parse(new SMLTokenizer(reader));
+    }
+
+    public List<SVIDData> parse(SMLTokenizer tokenizer) throws IOException {
+        List<SVIDData> svidDataList = new ArrayList<>();
+        parse(tokenizer, svidDataList::add);
+        return svidDataList;
+    }
+
+    // 변환한 항목을 파일 순서대로 consumer 에 전달
+    public void parse(SMLTokenizer tokenizer, Consumer<SVIDData> consumer) throws IOException {
+        // 루트 리스트 찾기 (그 전에 메시지 헤더가 있으면 여러 메시지가 담긴 트레이스로 처리)
+        while (tokenizer.next()) {
+            if (SECSMessageHeader.isHeader(tokenizer)) {
+                SECSMessageSplitter splitter = new SECSMessageSplitter(tokenizer, this::warn);
+                splitter.resumeAtCurrentToken();
+                parseMessages(splitter, consumer);
+                break;
+            }
+            if (isRootList(tokenizer)) {
+                declaredCount = tokenizer.getListSize();
+                parseEntries(tokenizer, consumer);
+                checkEntryCount();
+                break;
+            }
+        }
+    }
+
+    // 루트 리스트 (L[n]) 여부
+    public static boolean isRootList(SMLTokenizer tokenizer) {
+        return tokenizer.isList() && tokenizer.getListSize() >= 0;
+    }
+
+    // 루트 리스트 다음부터 입력 끝까지의 항목을 변환
+    public void parseEntries(SMLTokenizer tokenizer, Consumer<SVIDData> consumer) throws IOException {
+        SECSItemParser itemParser = new SECSItemParser(tokenizer, this::warn);
+        int firstLine = tokenizer.getLineNumber();
+
+        while (tokenizer.next()) {
+            int line = tokenizer.getLineNumber();
+            if (!tokenizer.isItem()) {
+                if (messageBody) {
+                    if (SECSMessageHeader.isHeader(tokenizer)) {
+                        stoppedLine = line;
+                        break;
+                    }
+                    continue;
+                }
+                warn("아이템이 아닌 줄을 건너뜁니다 (" + tokenizer.tokenAsString() + ")", line);
+                continue;
+            }
+
+            if (entryLimit >= 0 && entryCount >= entryLimit) {
+                // 항목의 자식 아이템도 토큰 단위로 건너뜀
+                continue;
+            }
+            SECSItem entry = itemParser.readItem();
+            entryCount++;
+            if (projection == null) {
+                projection = NamelistProjection.detect(entry);
+                if (projection == null) {
+                    warn("목록 종류를 알 수 없는 항목입니다 (" + entry + ")", line);
+                    continue;
+                }
+            }
+
+            SVIDData data = projection.project(entry);
+            if (data != null) {
+                consumer.accept(data);
+            } else {
+                warn(projection + " 항목 형식이 아닙니다 (" + entry + ")", line);
+            }
+        }
+        lineCount += tokenizer.getLineNumber() - firstLine;
+    }
+
+    // 트레이스에서 목록 응답 메시지 (S1F12, S2F30, S1F24, S2F33) 만 골라 변환
+    // 출력 하나에는 한 가지 목록만 담으므로 첫 응답 (또는 지정한 종류) 과 다른 종류의 응답은 경고를 남기고 건너뜀
+    // 본문 리스트의 항목은 하나씩 읽어서 변환하므로 메시지 전체를 메모리에 만들지 않음
+    public void parseMessages(SECSMessageSplitter splitter, Consumer<SVIDData> consumer) throws IOException {
+        SMLTokenizer tokenizer = splitter.getTokenizer();
+        int firstLine = tokenizer.getLineNumber();
+
+        while (splitter.nextMessage()) {
+            SECSMessageHeader header = splitter.getHeader();
+            NamelistProjection messageProjection = NamelistProjection.forMessage(header.getStream(), header.getFunction());
+            if (messageProjection == null) {
+                continue;
+            }
+            if (projection != null && projection != messageProjection) {
+                skippedMessageCount++;
+                warn(header + " 응답은 " + messageProjection + " 목록이므로 건너뜁니다 (" + projection
+                        + " 목록으로 변환 중, -t " + messageProjection.name().toLowerCase(Locale.ROOT) + " 로 따로 변환)",
+                        header.getLineNumber());
+                continue;
+            }
+            if (projection == null) {
+                projection = messageProjection;
+            }
+            messageCount++;
+
+            if (!splitter.nextBodyItem()) {
+                warn(header + " 메시지에 본문이 없습니다", header.getLineNumber());
+                continue;
+            }
+            if (!tokenizer.isList()) {
+                warn(header + " 메시지 본문이 리스트가 아닙니다", tokenizer.getLineNumber());
+                continue;
+            }
+
+            if (messageProjection == NamelistProjection.RPTID) {
+                // S2F33 은 DATAID 아래에 보고서 목록이 있으므로 본문 전체를 읽음
+                int line = tokenizer.getLineNumber();
+                SECSItem body = splitter.readItem();
+                int skipped = messageProjection.projectBody(body, consumer);
+                entryCount += messageProjection.countEntries(body);
+                if (skipped > 0) {
+                    warn(header + " 메시지에서 형식이 맞지 않는 항목 " + skipped + "개를 건너뜁니다", line);
+                }
+                continue;
+            }
+
+            int size = tokenizer.getListSize();
+            int bodyLine = tokenizer.getLineNumber();
+            int count = 0;
+            while (count < size && splitter.nextBodyItem()) {
+                int line = tokenizer.getLineNumber();
+                SECSItem entry = splitter.readItem();
+                count++;
+                entryCount++;
+                SVIDData data = messageProjection.project(entry);
+                if (data != null) {
+                    consumer.accept(data);
+                } else {
+                    warn(messageProjection + " 항목 형식이 아닙니다 (" + entry + ")", line);
+                }
+                if (splitter.isStopped()) {
+                    break;
+                }
+            }
+            if (count < size) {
+                warn(header + " 본문 L[" + size + "] 의 항목이 " + count + "개만 있습니다", bodyLine);
+            }
+        }
+        lineCount += tokenizer.getLineNumber() - firstLine;
+    }
+
+    // 루트 리스트에 선언된 개수와 실제 항목 수 비교
+    public void checkEntryCount() {
+        if (declaredCount >= 0 && declaredCount != entryCount) {
+            warn("루트 리스트에 선언된 항목 수(" + declaredCount + ")와 실제 항목 수(" + entryCount + ")가 다릅니다", 0);
+        }
+    }
+
+    // line 이 0 이면 특정 줄이 아닌 경고
+    public void warn(String message, int line) {
+        warningCount++;
+        if (warningMessages.size() < MAX_WARNINGS) {
+            warningMessages.add(message);
+            warningLines.add(line);
+        }
+    }
+
+    public NamelistProjection getProjection() {
+        return projection;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    public int getSkippedMessageCount() {
+        return skippedMessageCount;
+    }
+
+    public int getDeclaredCount() {
+        return declaredCount;
+    }
+
+    public void setDeclaredCount(int declaredCount) {
+        this.declaredCount = declaredCount;
+    }
+
+    public int getWarningCount() {
+        return warningCount;
+    }
+
+    // 보관된 경고 메시지 (MAX_WARNINGS 를 넘은 경우 마지막에 생략된 개수 포함)
+    public List<String> getWarnings() {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < warningMessages.size(); i++) {
+            int line = warningLines.get(i);
+            result.add(line > 0 ? "줄 " + line + ": " + warningMessages.get(i) : warningMessages.get(i));
+        }
+        if (warningCount > warningMessages.size()) {
+            result.add("... 외 경고 " + (warningCount - warningMessages.size()) + "건");
+        }
+        return result;
+    }
+
+    public boolean isMessageBody() {
+        return messageBody;
+    }
+
+    public void setMessageBody(boolean messageBody) {
+        this.messageBody = messageBody;
+    }
+
+    public int getEntryLimit() {
+        return entryLimit;
+    }
+
+    public void setEntryLimit(int entryLimit) {
+        this.entryLimit = entryLimit;
+    }
+
+    public int getStoppedLine() {
+        return stoppedLine;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public void setLineCount(int lineCount) {
+        this.lineCount = lineCount;
+    }
+
+    // 청크별 파서의 결과를 이어 붙임 (파일 순서대로 호출, 줄 번호는 지금까지 읽은 줄 수만큼 보정)
+    public void merge(SVIDListParser other) {
+        entryCount += other.entryCount;
+        messageCount += other.messageCount;
+        skippedMessageCount += other.skippedMessageCount;
+        if (projection == null) {
+            projection = other.projection;
+        }
+        for (int i = 0; i < other.warningMessages.size(); i++) {
+            int line = other.warningLines.get(i);
+            warn(other.warningMessages.get(i), line > 0 ? line + lineCount : 0);
+        }
+        warningCount += other.warningCount - other.warningMessages.size();
+        lineCount += other.lineCount;
+    }
+}
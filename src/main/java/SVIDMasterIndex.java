@@ -0,0 +1,664 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// 여러 장비의 SVID 목록을 (장비, SVID) 로 모은 통합 인덱스 파일
+// 파일 전체를 메모리 매핑해서 조회하므로 다시 파싱하지 않고 바로 열리고, 레코드는 힙에 올리지 않음
+//
+// 레코드는 SVID 순 (같은 SVID 는 장비 순) 으로 정렬되어 있고 레코드 번호로 조회함
+// - SVID, (장비, SVID): SVID 해시 테이블 -> 같은 SVID 레코드 구간
+// - 단위: 단위별 레코드 번호 목록
+// - 이름 일부: 이름 UTF-8 블록 전체를 바이트 단위로 검색 (ASCII 대소문자 무시)
+public class SVIDMasterIndex {
+
+    public static final String DEFAULT_FILE_NAME = "svid-master.idx";
+
+    private static final byte[] MAGIC = {'S', 'V', 'M', 'I'};
+    private static final int VERSION = 1;
+
+    // 섹션 순서 (헤더에 시작 위치를 기록)
+    private static final int TOOL_OFFSETS = 0;
+    private static final int TOOL_BLOB = 1;
+    private static final int UNIT_OFFSETS = 2;
+    private static final int UNIT_BLOB = 3;
+    private static final int TOOL_IDS = 4;
+    private static final int UNIT_IDS = 5;
+    private static final int SVID_OFFSETS = 6;
+    private static final int SVID_BLOB = 7;
+    private static final int NAME_OFFSETS = 8;
+    private static final int NAME_BLOB = 9;
+    private static final int HASH_SLOTS = 10;
+    private static final int UNIT_STARTS = 11;
+    private static final int UNIT_POSTINGS = 12;
+    private static final int SECTION_COUNT = 13;
+    private static final int HEADER_SIZE = MAGIC.length + 5 * 4 + SECTION_COUNT * 8;
+
+    // 장비 목록 파일명의 "_SVID LIST" 같은 꼬리
+    private static final String[] LIST_SUFFIXES = {"SVID LIST", "ECID LIST", "CEID LIST", "RPTID LIST", "SVID", "ECID", "CEID", "RPTID"};
+
+    private final MappedByteBuffer buffer;
+    private final int recordCount;
+    private final int slotCount;
+    private final int[] sections = new int[SECTION_COUNT];
+    private final List<String> tools;
+    private final List<String> units;
+    private final Map<String, Integer> toolIds = new HashMap<>();
+    private final Map<String, Integer> unitIds = new HashMap<>();
+
+    private SVIDMasterIndex(MappedByteBuffer buffer, Path file) throws IOException {
+        this.buffer = buffer;
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.capacity() < HEADER_SIZE || buffer.get(i) != MAGIC[i]) {
+                throw new IOException("통합 인덱스 파일이 아닙니다: " + file);
+            }
+        }
+        int position = MAGIC.length;
+        int version = buffer.getInt(position);
+        if (version != VERSION) {
+            throw new IOException("지원하지 않는 인덱스 버전입니다 (" + version + "): " + file);
+        }
+        recordCount = buffer.getInt(position + 4);
+        int toolCount = buffer.getInt(position + 8);
+        int unitCount = buffer.getInt(position + 12);
+        slotCount = buffer.getInt(position + 16);
+        position += 20;
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            sections[i] = (int) buffer.getLong(position + i * 8);
+        }
+
+        // 장비/단위 사전은 작으므로 힙에 올림
+        tools = readDictionary(TOOL_OFFSETS, TOOL_BLOB, toolCount);
+        units = readDictionary(UNIT_OFFSETS, UNIT_BLOB, unitCount);
+        for (int i = 0; i < tools.size(); i++) {
+            toolIds.put(tools.get(i), i);
+        }
+        for (int i = 0; i < units.size(); i++) {
+            unitIds.put(units.get(i), i);
+        }
+    }
+
+    public static SVIDMasterIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("인덱스 파일이 너무 큽니다: " + file);
+            }
+            // 매핑은 채널을 닫아도 유지됨
+            return new SVIDMasterIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file);
+        }
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public List<String> getTools() {
+        return Collections.unmodifiableList(tools);
+    }
+
+    public String getTool(int record) {
+        return tools.get(intAt(TOOL_IDS, record));
+    }
+
+    public String getSvid(int record) {
+        return string(SVID_OFFSETS, SVID_BLOB, record);
+    }
+
+    public String getName(int record) {
+        return string(NAME_OFFSETS, NAME_BLOB, record);
+    }
+
+    public String getUnit(int record) {
+        return units.get(intAt(UNIT_IDS, record));
+    }
+
+    public SVIDData getRecord(int record) {
+        return new SVIDData(getSvid(record), getName(record), getUnit(record));
+    }
+
+    // (장비, SVID) 의 레코드 번호 (없으면 -1)
+    public int find(String tool, String svid) {
+        Integer toolId = toolIds.get(tool);
+        if (toolId == null) {
+            return -1;
+        }
+        byte[] key = svid.getBytes(StandardCharsets.UTF_8);
+        int first = findFirst(key);
+        if (first < 0) {
+            return -1;
+        }
+        for (int record = first; record < recordCount && svidEquals(record, key); record++) {
+            if (intAt(TOOL_IDS, record) == toolId) {
+                return record;
+            }
+        }
+        return -1;
+    }
+
+    // 모든 장비에서 SVID 가 같은 레코드 번호 (장비 순)
+    public int[] findBySvid(String svid) {
+        byte[] key = svid.getBytes(StandardCharsets.UTF_8);
+        int first = findFirst(key);
+        if (first < 0) {
+            return new int[0];
+        }
+        int end = first;
+        while (end < recordCount && svidEquals(end, key)) {
+            end++;
+        }
+        int[] records = new int[end - first];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = first + i;
+        }
+        return records;
+    }
+
+    // 단위가 정확히 같은 레코드 번호 (SVID 순)
+    public int[] findByUnit(String unit) {
+        Integer unitId = unitIds.get(unit);
+        if (unitId == null) {
+            return new int[0];
+        }
+        int start = intAt(UNIT_STARTS, unitId);
+        int end = intAt(UNIT_STARTS, unitId + 1);
+        int[] records = new int[end - start];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = intAt(UNIT_POSTINGS, start + i);
+        }
+        return records;
+    }
+
+    // 이름에 text 가 들어 있는 레코드 번호 (ASCII 대소문자 무시, 최대 limit 개)
+    // UTF-8 은 문자 중간에서 일치할 수 없으므로 바이트 검색 결과가 곧 문자열 검색 결과
+    public int[] searchName(String text, int limit) {
+        byte[] pattern = lowerPattern(text);
+        if (pattern.length == 0 || limit <= 0) {
+            return new int[0];
+        }
+        int[] found = new int[Math.min(limit, 1024)];
+        int count = 0;
+
+        int blob = sections[NAME_BLOB];
+        int blobEnd = blob + intAt(NAME_OFFSETS, recordCount);
+        byte first = pattern[0];
+        int record = 0;
+        for (int i = blob; i + pattern.length <= blobEnd; i++) {
+            if (lower(buffer.get(i)) != first || !matchesAt(i, pattern)) {
+                continue;
+            }
+            // 일치 위치가 속한 레코드 (이름이 레코드 순서대로 이어져 있음)
+            record = recordAt(i - blob, record);
+            int nameEnd = blob + intAt(NAME_OFFSETS, record + 1);
+            if (i + pattern.length > nameEnd) {
+                // 이름 두 개에 걸친 일치
+                continue;
+            }
+            if (count == found.length) {
+                found = Arrays.copyOf(found, Math.min(limit, found.length * 2));
+            }
+            found[count++] = record;
+            if (count == limit) {
+                break;
+            }
+            // 같은 이름 안의 다음 일치는 건너뜀
+            i = nameEnd - 1;
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    // 조건에 맞는 레코드 번호 (null 인 조건은 무시, 이름은 일부 일치, 최대 limit 개)
+    // SVID, 단위, 이름 순으로 색인으로 후보를 좁힌 뒤 나머지 조건으로 거름
+    public int[] query(String tool, String svid, String name, String unit, int limit) {
+        if (svid == null && unit == null && tool == null && name != null) {
+            return searchName(name, limit);
+        }
+        Integer toolId = tool != null ? toolIds.get(tool) : null;
+        if (tool != null && toolId == null) {
+            return new int[0];
+        }
+        int[] candidates = null;
+        if (svid != null) {
+            candidates = findBySvid(svid);
+        } else if (unit != null) {
+            candidates = findByUnit(unit);
+        }
+        byte[] pattern = name != null ? lowerPattern(name) : null;
+
+        int total = candidates != null ? candidates.length : recordCount;
+        int[] found = new int[Math.max(0, Math.min(limit, Math.min(total, 1024)))];
+        int count = 0;
+        for (int i = 0; i < total && count < limit; i++) {
+            int record = candidates != null ? candidates[i] : i;
+            if ((toolId != null && intAt(TOOL_IDS, record) != toolId)
+                    || (unit != null && !units.get(intAt(UNIT_IDS, record)).equals(unit))
+                    || (pattern != null && !nameContains(record, pattern))) {
+                continue;
+            }
+            if (count == found.length) {
+                found = Arrays.copyOf(found, Math.min(limit, found.length * 2));
+            }
+            found[count++] = record;
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    private boolean nameContains(int record, byte[] pattern) {
+        int start = sections[NAME_BLOB] + intAt(NAME_OFFSETS, record);
+        int end = sections[NAME_BLOB] + intAt(NAME_OFFSETS, record + 1);
+        for (int i = start; i + pattern.length <= end; i++) {
+            if (pattern.length == 0 || (lower(buffer.get(i)) == pattern[0] && matchesAt(i, pattern))) {
+                return true;
+            }
+        }
+        return pattern.length == 0;
+    }
+
+    private boolean matchesAt(int position, byte[] pattern) {
+        for (int j = 1; j < pattern.length; j++) {
+            if (lower(buffer.get(position + j)) != pattern[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] lowerPattern(String text) {
+        byte[] pattern = text.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < pattern.length; i++) {
+            pattern[i] = lower(pattern[i]);
+        }
+        return pattern;
+    }
+
+    private static byte lower(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    // 이름 블록의 offset 을 포함하는 레코드 (from 이후에서 이진 탐색)
+    private int recordAt(int offset, int from) {
+        int low = from;
+        int high = recordCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (intAt(NAME_OFFSETS, mid) <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    // 해시 테이블에서 SVID 구간의 첫 레코드 (없으면 -1)
+    private int findFirst(byte[] key) {
+        if (slotCount == 0) {
+            return -1;
+        }
+        int mask = slotCount - 1;
+        for (int slot = hash(key, 0, key.length) & mask; ; slot = (slot + 1) & mask) {
+            int value = intAt(HASH_SLOTS, slot);
+            if (value == 0) {
+                return -1;
+            }
+            if (svidEquals(value - 1, key)) {
+                return value - 1;
+            }
+        }
+    }
+
+    private boolean svidEquals(int record, byte[] key) {
+        int start = sections[SVID_BLOB] + intAt(SVID_OFFSETS, record);
+        int end = sections[SVID_BLOB] + intAt(SVID_OFFSETS, record + 1);
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int intAt(int section, int index) {
+        return buffer.getInt(sections[section] + index * 4);
+    }
+
+    private String string(int offsetsSection, int blobSection, int index) {
+        int start = intAt(offsetsSection, index);
+        byte[] bytes = new byte[intAt(offsetsSection, index + 1) - start];
+        buffer.get(sections[blobSection] + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<String> readDictionary(int offsetsSection, int blobSection, int count) {
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(string(offsetsSection, blobSection, i));
+        }
+        return values;
+    }
+
+    // FNV-1a
+    private static int hash(byte[] bytes, int start, int end) {
+        int hash = 0x811C9DC5;
+        for (int i = start; i < end; i++) {
+            hash ^= bytes[i] & 0xFF;
+            hash *= 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    // 장비 목록 파일명에서 장비 이름 ("LTS40_SVID LIST.txt" -> "LTS40")
+    public static String toolNameOf(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            name = name.substring(0, dot);
+        }
+        String upper = name.toUpperCase(Locale.ROOT);
+        for (String suffix : LIST_SUFFIXES) {
+            if (upper.endsWith(suffix) && upper.length() > suffix.length()) {
+                String tool = name.substring(0, name.length() - suffix.length());
+                while (!tool.isEmpty() && (tool.endsWith("_") || tool.endsWith(" ") || tool.endsWith("-"))) {
+                    tool = tool.substring(0, tool.length() - 1);
+                }
+                if (!tool.isEmpty()) {
+                    return tool;
+                }
+            }
+        }
+        return name;
+    }
+
+    // 통합 인덱스 생성
+    // 항목은 UTF-8 바이트와 int 배열로 모아 두므로 레코드당 String 객체를 만들지 않음
+    public static class Builder {
+        private final List<String> toolNames = new ArrayList<>();
+        private final Map<String, Integer> toolLookup = new HashMap<>();
+        private final List<String> unitNames = new ArrayList<>();
+        private final Map<String, Integer> unitLookup = new HashMap<>();
+        private final IntList toolIds = new IntList();
+        private final IntList unitIds = new IntList();
+        private final IntList svidOffsets = new IntList();
+        private final IntList nameOffsets = new IntList();
+        private final ByteArrayOutputStream svidBlob = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream nameBlob = new ByteArrayOutputStream();
+
+        public Builder() {
+            svidOffsets.add(0);
+            nameOffsets.add(0);
+        }
+
+        public int size() {
+            return toolIds.size();
+        }
+
+        // 같은 (장비, SVID) 가 여러 번 들어오면 마지막 항목을 사용
+        public void add(String tool, SVIDData data) {
+            toolIds.add(idOf(tool, toolNames, toolLookup));
+            unitIds.add(idOf(data.getUnit() != null ? data.getUnit() : "", unitNames, unitLookup));
+            append(svidBlob, svidOffsets, data.getSvid());
+            append(nameBlob, nameOffsets, data.getName() != null ? data.getName() : "");
+        }
+
+        // 기존 인덱스의 레코드를 추가 (excludedTools 의 장비는 새로 변환한 목록으로 교체하므로 제외)
+        public void addAll(SVIDMasterIndex index, Set<String> excludedTools) {
+            for (int record = 0; record < index.size(); record++) {
+                String tool = index.getTool(record);
+                if (!excludedTools.contains(tool)) {
+                    add(tool, index.getRecord(record));
+                }
+            }
+        }
+
+        private static int idOf(String value, List<String> names, Map<String, Integer> lookup) {
+            Integer id = lookup.get(value);
+            if (id == null) {
+                id = names.size();
+                names.add(value);
+                lookup.put(value, id);
+            }
+            return id;
+        }
+
+        private static void append(ByteArrayOutputStream blob, IntList offsets, String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if ((long) blob.size() + bytes.length > Integer.MAX_VALUE) {
+                throw new IllegalStateException("인덱스에 넣을 수 있는 크기를 넘었습니다");
+            }
+            blob.write(bytes, 0, bytes.length);
+            offsets.add(blob.size());
+        }
+
+        public void write(Path file) throws IOException {
+            byte[] svids = svidBlob.toByteArray();
+            byte[] names = nameBlob.toByteArray();
+            int[] order = sortedOrder(svids);
+            int count = order.length;
+
+            // 정렬 순서로 다시 배치
+            int[] sortedTools = new int[count];
+            int[] sortedUnits = new int[count];
+            int[] sortedSvidOffsets = new int[count + 1];
+            int[] sortedNameOffsets = new int[count + 1];
+            int[] unitStarts = new int[unitNames.size() + 1];
+            for (int i = 0; i < count; i++) {
+                int record = order[i];
+                sortedTools[i] = toolIds.get(record);
+                sortedUnits[i] = unitIds.get(record);
+                sortedSvidOffsets[i + 1] = sortedSvidOffsets[i] + svidOffsets.get(record + 1) - svidOffsets.get(record);
+                sortedNameOffsets[i + 1] = sortedNameOffsets[i] + nameOffsets.get(record + 1) - nameOffsets.get(record);
+                unitStarts[sortedUnits[i] + 1]++;
+            }
+
+            // 단위별 레코드 목록 (계수 정렬)
+            for (int i = 0; i < unitNames.size(); i++) {
+                unitStarts[i + 1] += unitStarts[i];
+            }
+            int[] postings = new int[count];
+            int[] next = Arrays.copyOf(unitStarts, unitNames.size());
+            for (int i = 0; i < count; i++) {
+                postings[next[sortedUnits[i]]++] = i;
+            }
+
+            // SVID 해시 테이블 (SVID 구간의 첫 레코드 + 1, 빈 칸은 0)
+            int slotCount = Integer.highestOneBit(Math.max(1, count) * 2 - 1) << 1;
+            int[] slots = new int[slotCount];
+            int mask = slotCount - 1;
+            for (int i = 0; i < count; i++) {
+                int start = svidOffsets.get(order[i]);
+                int end = svidOffsets.get(order[i] + 1);
+                if (i > 0 && compare(svids, start, end, svids, svidOffsets.get(order[i - 1]), svidOffsets.get(order[i - 1] + 1)) == 0) {
+                    continue;
+                }
+                int slot = hash(svids, start, end) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = i + 1;
+            }
+
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            long[] sectionOffsets = new long[SECTION_COUNT];
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.position(HEADER_SIZE);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+                long position = HEADER_SIZE;
+
+                position = writeDictionary(out, position, toolNames, sectionOffsets, TOOL_OFFSETS, TOOL_BLOB);
+                position = writeDictionary(out, position, unitNames, sectionOffsets, UNIT_OFFSETS, UNIT_BLOB);
+                sectionOffsets[TOOL_IDS] = position;
+                position = writeInts(out, position, sortedTools);
+                sectionOffsets[UNIT_IDS] = position;
+                position = writeInts(out, position, sortedUnits);
+                sectionOffsets[SVID_OFFSETS] = position;
+                position = writeInts(out, position, sortedSvidOffsets);
+                sectionOffsets[SVID_BLOB] = position;
+                position = writeSorted(out, position, svids, svidOffsets, order);
+                sectionOffsets[NAME_OFFSETS] = position;
+                position = writeInts(out, position, sortedNameOffsets);
+                sectionOffsets[NAME_BLOB] = position;
+                position = writeSorted(out, position, names, nameOffsets, order);
+                sectionOffsets[HASH_SLOTS] = position;
+                position = writeInts(out, position, slots);
+                sectionOffsets[UNIT_STARTS] = position;
+                position = writeInts(out, position, unitStarts);
+                sectionOffsets[UNIT_POSTINGS] = position;
+                position = writeInts(out, position, postings);
+                out.flush();
+                if (position > Integer.MAX_VALUE) {
+                    throw new IOException("인덱스 파일이 너무 큽니다 (" + position + " bytes)");
+                }
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.put(MAGIC);
+                header.putInt(VERSION);
+                header.putInt(count);
+                header.putInt(toolNames.size());
+                header.putInt(unitNames.size());
+                header.putInt(slotCount);
+                for (long offset : sectionOffsets) {
+                    header.putLong(offset);
+                }
+                header.flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        // SVID 바이트, 장비 순으로 정렬하고 같은 (장비, SVID) 는 마지막에 추가된 것만 남김
+        private int[] sortedOrder(final byte[] svids) {
+            int count = toolIds.size();
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            mergeSort(order, new int[count], 0, count, svids);
+
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                // 안정 정렬이므로 같은 키 중 마지막이 가장 나중에 추가된 항목
+                if (i + 1 < count && compareRecords(order[i], order[i + 1], svids) == 0) {
+                    continue;
+                }
+                order[kept++] = order[i];
+            }
+            return Arrays.copyOf(order, kept);
+        }
+
+        private void mergeSort(int[] order, int[] scratch, int from, int to, byte[] svids) {
+            if (to - from < 2) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            mergeSort(order, scratch, from, mid, svids);
+            mergeSort(order, scratch, mid, to, svids);
+            if (compareRecords(order[mid - 1], order[mid], svids) <= 0) {
+                return;
+            }
+            System.arraycopy(order, from, scratch, from, to - from);
+            int left = from;
+            int right = mid;
+            for (int i = from; i < to; i++) {
+                if (right >= to || (left < mid && compareRecords(scratch[left], scratch[right], svids) <= 0)) {
+                    order[i] = scratch[left++];
+                } else {
+                    order[i] = scratch[right++];
+                }
+            }
+        }
+
+        private int compareRecords(int a, int b, byte[] svids) {
+            int result = compare(svids, svidOffsets.get(a), svidOffsets.get(a + 1), svids, svidOffsets.get(b), svidOffsets.get(b + 1));
+            if (result != 0) {
+                return result;
+            }
+            return toolNames.get(toolIds.get(a)).compareTo(toolNames.get(toolIds.get(b)));
+        }
+
+        private static int compare(byte[] a, int aStart, int aEnd, byte[] b, int bStart, int bEnd) {
+            return Arrays.compareUnsigned(a, aStart, aEnd, b, bStart, bEnd);
+        }
+
+        private static long writeDictionary(DataOutputStream out, long position, List<String> values,
+                                            long[] sectionOffsets, int offsetsSection, int blobSection) throws IOException {
+            List<byte[]> encoded = new ArrayList<>(values.size());
+            int[] offsets = new int[values.size() + 1];
+            for (int i = 0; i < values.size(); i++) {
+                byte[] bytes = values.get(i).getBytes(StandardCharsets.UTF_8);
+                encoded.add(bytes);
+                offsets[i + 1] = offsets[i] + bytes.length;
+            }
+            sectionOffsets[offsetsSection] = position;
+            position = writeInts(out, position, offsets);
+            sectionOffsets[blobSection] = position;
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+            return position + offsets[values.size()];
+        }
+
+        private static long writeInts(DataOutputStream out, long position, int[] values) throws IOException {
+            for (int value : values) {
+                out.writeInt(value);
+            }
+            return position + values.length * 4L;
+        }
+
+        private static long writeSorted(DataOutputStream out, long position, byte[] blob, IntList offsets, int[] order) throws IOException {
+            for (int record : order) {
+                int start = offsets.get(record);
+                int length = offsets.get(record + 1) - start;
+                out.write(blob, start, length);
+                position += length;
+            }
+            return position;
+        }
+    }
+
+    // 박싱 없는 int 목록
+    private static class IntList {
+        private int[] values = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+// 입력 파일을 읽어 항목을 파일 순서대로 하나씩 consumer 에 전달
+// 전체 목록을 메모리에 만들지 않으므로 consumer 가 바로 출력하면 메모리 사용량이 입력 크기와 무관함
+public interface SVIDParser {
+
+    void parse(Path input, Consumer<SVIDData> consumer, Consumer<String> warningHandler) throws IOException;
+}
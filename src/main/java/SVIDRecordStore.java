@@ -0,0 +1,102 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// SVID 목록을 열 단위 배열로 보관 (항목마다 SVIDData 와 문자열 세 개를 만들지 않음)
+// SVID 는 long, NAME/UNIT 은 중복을 제거한 사전의 번호로 저장하므로 항목당 16바이트 + 사전
+// null 인 NAME/UNIT 은 빈 문자열로 저장
+public class SVIDRecordStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] svids = new long[INITIAL_CAPACITY];
+    private int[] nameIds = new int[INITIAL_CAPACITY];
+    private int[] unitIds = new int[INITIAL_CAPACITY];
+    private int size;
+    // 숫자로 저장할 수 없는 SVID (앞의 0, 문자 포함 등) 는 svids 에 textSvids 사전 번호를 저장
+    private final BitSet textSvidRecords = new BitSet();
+    private final List<String> textSvids = new ArrayList<>();
+    private final Map<String, Integer> textSvidLookup = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameLookup = new HashMap<>();
+    private final List<String> units = new ArrayList<>();
+    private final Map<String, Integer> unitLookup = new HashMap<>();
+
+    public void add(SVIDData data) {
+        if (size == svids.length) {
+            int capacity = size + (size >> 1);
+            svids = Arrays.copyOf(svids, capacity);
+            nameIds = Arrays.copyOf(nameIds, capacity);
+            unitIds = Arrays.copyOf(unitIds, capacity);
+        }
+        String svid = data.getSvid();
+        if (SVIDData.isCanonicalLong(svid)) {
+            svids[size] = Long.parseLong(svid);
+        } else {
+            svids[size] = idOf(svid, textSvids, textSvidLookup);
+            textSvidRecords.set(size);
+        }
+        nameIds[size] = idOf(data.getName() != null ? data.getName() : "", names, nameLookup);
+        unitIds[size] = idOf(data.getUnit() != null ? data.getUnit() : "", units, unitLookup);
+        size++;
+    }
+
+    private static int idOf(String value, List<String> values, Map<String, Integer> lookup) {
+        Integer id = lookup.get(value);
+        if (id == null) {
+            id = values.size();
+            values.add(value);
+            lookup.put(value, id);
+        }
+        return id;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isNumericSvid(int index) {
+        return !textSvidRecords.get(index);
+    }
+
+    // isNumericSvid 인 항목의 SVID 값
+    public long getSvidValue(int index) {
+        return svids[index];
+    }
+
+    public String getSvid(int index) {
+        return isNumericSvid(index) ? Long.toString(svids[index]) : textSvids.get((int) svids[index]);
+    }
+
+    public int getNameId(int index) {
+        return nameIds[index];
+    }
+
+    public int getUnitId(int index) {
+        return unitIds[index];
+    }
+
+    public String getName(int index) {
+        return names.get(nameIds[index]);
+    }
+
+    public String getUnit(int index) {
+        return units.get(unitIds[index]);
+    }
+
+    public SVIDData get(int index) {
+        return new SVIDData(getSvid(index), getName(index), getUnit(index));
+    }
+
+    // 사전 번호 -> 문자열 (번호는 처음 나온 순서)
+    public List<String> getNames() {
+        return names;
+    }
+
+    public List<String> getUnits() {
+        return units;
+    }
+}
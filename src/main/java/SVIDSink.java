@@ -0,0 +1,19 @@
+import java.io.Closeable;
+import java.io.IOException;
+
+// 변환된 항목을 받아서 출력하는 곳 (항목은 파일 순서대로 한 스레드에서 전달됨)
+public interface SVIDSink extends Closeable {
+
+    void write(SVIDData data) throws IOException;
+
+    // 모든 항목을 받은 뒤 출력을 마무리
+    @Override
+    void close() throws IOException;
+
+    // 변환 실패 시 출력을 남기지 않고 자원만 정리
+    void abort();
+
+    // close 안에서 단계 (열 너비, 저장 등) 를 나누어 기록하는 출력만 구현
+    default void setMetrics(ConversionMetrics metrics) {
+    }
+}
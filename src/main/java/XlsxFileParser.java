@@ -0,0 +1,145 @@
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+// 변환된 (또는 손으로 고친) .xlsx 를 다시 SVID 목록으로 읽기
+// XSSFWorkbook 으로 전체를 올리지 않고 XSSFReader 의 SAX 이벤트로 시트를 한 행씩 읽음
+// 시트가 여러 개 (통합 Excel 파일) 이면 목차 시트를 빼고 모든 시트를 순서대로 읽음
+// (SXSSF 로 쓴 큰 파일은 인라인 문자열이라 공유 문자열 표도 작음)
+public class XlsxFileParser implements SVIDParser {
+
+    @Override
+    public void parse(Path input, Consumer<SVIDData> consumer, Consumer<String> warningHandler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(input.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+            StylesTable styles = reader.getStylesTable();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            int dataSheets = 0;
+            boolean first = true;
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    String sheetName = sheets.getSheetName();
+                    // 통합 Excel 파일 (--combine --index-sheet) 의 목차 시트는 건너뜀
+                    boolean indexSheet = first && sheets.hasNext() && SVIDBatchWorkbook.INDEX_SHEET_NAME.equals(sheetName);
+                    first = false;
+                    if (indexSheet) {
+                        continue;
+                    }
+                    // 통합 Excel 파일은 모든 장비 시트를 이어서 읽고, 경고에 시트 이름을 붙임
+                    String warningPrefix = dataSheets > 0 || sheets.hasNext() ? sheetName + " 시트 " : "";
+                    XMLReader xmlReader = XMLHelper.newXMLReader();
+                    RowHandler rowHandler = new RowHandler(consumer, warningHandler, warningPrefix);
+                    xmlReader.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings, rowHandler, new DataFormatter(), false));
+                    xmlReader.parse(new InputSource(sheet));
+                    dataSheets++;
+                }
+            }
+            if (dataSheets == 0) {
+                throw new IOException("시트를 찾을 수 없습니다: " + input);
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Excel 파일을 읽을 수 없습니다: " + input + " - " + e.getMessage(), e);
+        }
+    }
+
+    // 첫 행이 헤더 (SVID, NAME, UNIT) 이면 열 위치를 정하고 나머지 행을 항목으로 변환
+    private static class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final Consumer<SVIDData> consumer;
+        private final Consumer<String> warningHandler;
+        private final String warningPrefix;
+        private final String[] cells = new String[16];
+        private int nextColumn;
+        private boolean headerChecked;
+        private int svidColumn = 0;
+        private int nameColumn = 1;
+        private int unitColumn = 2;
+
+        RowHandler(Consumer<SVIDData> consumer, Consumer<String> warningHandler, String warningPrefix) {
+            this.consumer = consumer;
+            this.warningHandler = warningHandler;
+            this.warningPrefix = warningPrefix;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(cells, null);
+            nextColumn = 0;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // 셀 참조가 없는 파일은 순서대로 열을 매김
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            nextColumn = column + 1;
+            if (column < cells.length) {
+                cells[column] = formattedValue;
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!headerChecked) {
+                headerChecked = true;
+                if (readHeader()) {
+                    return;
+                }
+            }
+
+            String svid = trim(cells[svidColumn]);
+            if (svid.isEmpty()) {
+                if (!trim(cells[nameColumn]).isEmpty() || !trim(cells[unitColumn]).isEmpty()) {
+                    warningHandler.accept(warningPrefix + (rowNum + 1) + "행: SVID 가 없는 행을 건너뜁니다");
+                }
+                return;
+            }
+            consumer.accept(new SVIDData(svid, value(cells[nameColumn]), value(cells[unitColumn])));
+        }
+
+        // 헤더 행이면 열 위치를 기록하고 true
+        private boolean readHeader() {
+            boolean header = false;
+            for (int i = 0; i < cells.length; i++) {
+                String title = trim(cells[i]).toUpperCase(Locale.ROOT);
+                if (title.equals("SVID") || title.equals("ECID") || title.equals("CEID") || title.equals("RPTID") || title.equals("ID")) {
+                    svidColumn = i;
+                    header = true;
+                } else if (title.equals("NAME")) {
+                    nameColumn = i;
+                    header = true;
+                } else if (title.equals("UNIT") || title.equals("UNITS")) {
+                    unitColumn = i;
+                    header = true;
+                }
+            }
+            return header;
+        }
+
+        private static String trim(String value) {
+            return value != null ? value.trim() : "";
+        }
+
+        private static String value(String value) {
+            return value != null ? value : "";
+        }
+    }
+}
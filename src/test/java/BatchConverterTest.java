@@ -0,0 +1,83 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 여러 파일을 변환할 때 파일마다 완료나 실패가 한 번씩 통지되는지 확인
+class BatchConverterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void errorInOneFileIsReportedAsFailure() throws IOException, InterruptedException {
+        File good = write("good.txt");
+        File deep = write("deep.txt");
+        BatchConverter converter = new BatchConverter(2, StandardCharsets.UTF_8) {
+            @Override
+            public SVIDParser parserFor(File input) {
+                if (!input.equals(deep)) {
+                    return super.parserFor(input);
+                }
+                // 너무 깊은 리스트를 읽다가 스택이 넘친 경우
+                return new SVIDParser() {
+                    @Override
+                    public void parse(Path path, Consumer<SVIDData> consumer, Consumer<String> warningHandler) {
+                        throw new StackOverflowError();
+                    }
+                };
+            }
+        };
+        converter.setOutputFormat(OutputFormat.CSV);
+
+        List<String> events = new ArrayList<>();
+        assertTrue(converter.convert(List.of(good, deep), new BatchConverter.Listener() {
+            @Override
+            public void fileStarted(File input) {
+            }
+
+            @Override
+            public void fileConverted(File input, File output, int recordCount, ConversionMetrics metrics) {
+                add("converted " + input.getName() + " " + recordCount);
+            }
+
+            @Override
+            public void fileFailed(File input, Throwable error) {
+                add("failed " + input.getName() + " " + error.getClass().getSimpleName());
+            }
+
+            @Override
+            public void fileSkipped(File input, File output) {
+                add("skipped " + input.getName());
+            }
+
+            @Override
+            public void fileWarning(File input, String message) {
+            }
+
+            private void add(String event) {
+                synchronized (events) {
+                    events.add(event);
+                }
+            }
+        }));
+        events.sort(null);
+        assertEquals(List.of("converted good.txt 1", "failed deep.txt StackOverflowError"), events);
+    }
+
+    private File write(String name) throws IOException {
+        Path path = directory.resolve(name);
+        Files.write(path, "S1F12\nL[1]\n  L[3]\n    U4[1]\n    A[a]\n    A[b]\n".getBytes(StandardCharsets.UTF_8));
+        return path.toFile();
+    }
+}
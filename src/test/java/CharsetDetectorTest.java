@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 입력 인코딩 판별과 창 단위 매핑 Reader 확인
+class CharsetDetectorTest {
+
+    private static final String REPLY = "S1F12\nL[1]\n  L[3]\n    U4[1]\n    A[챔버 압력]\n    A[℃]\n";
+    // 판별할 수 없을 때 쓰는 값 (결과가 fallback 인지 구분하기 위해 두 후보와 다른 인코딩)
+    private static final Charset FALLBACK = StandardCharsets.ISO_8859_1;
+
+    @TempDir
+    Path directory;
+    // 매핑한 파일은 Windows 에서 덮어쓸 수 없으므로 표본마다 새 파일
+    private int sampleCount;
+
+    @Test
+    void detectsByteOrderMarks() throws IOException {
+        byte[] utf8 = REPLY.getBytes(StandardCharsets.UTF_8);
+        CharsetDetector.Detection detection = detect(concat(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, utf8), null);
+        assertEquals(StandardCharsets.UTF_8, detection.getCharset());
+        assertEquals(3, detection.getBomLength());
+
+        detection = detect(concat(new byte[]{(byte) 0xFF, (byte) 0xFE}, REPLY.getBytes(StandardCharsets.UTF_16LE)), null);
+        assertEquals(StandardCharsets.UTF_16LE, detection.getCharset());
+        assertEquals(2, detection.getBomLength());
+        assertFalse(detection.isAsciiCompatible());
+
+        // 지정한 인코딩과 같은 BOM 은 건너뛰고, 다른 인코딩을 지정하면 BOM 도 데이터로 읽음
+        assertEquals(3, detect(concat(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, utf8), StandardCharsets.UTF_8).getBomLength());
+        assertEquals(0, detect(concat(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, utf8), CharsetDetector.CP949).getBomLength());
+    }
+
+    @Test
+    void distinguishesUtf8FromCp949() throws IOException {
+        CharsetDetector.Detection utf8 = detect(REPLY.getBytes(StandardCharsets.UTF_8), null);
+        assertEquals(StandardCharsets.UTF_8, utf8.getCharset());
+        assertEquals(0, utf8.getBomLength());
+        assertTrue(utf8.isAsciiCompatible());
+        assertEquals(CharsetDetector.CP949, detect(REPLY.getBytes(CharsetDetector.CP949), null).getCharset());
+    }
+
+    @Test
+    void asciiOnlyUsesFallback() throws IOException {
+        byte[] ascii = "S1F12\nL[1]\n  L[3]\n    U4[1]\n    A[Pressure]\n    A[Torr]\n".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(FALLBACK, detect(ascii, null).getCharset());
+    }
+
+    @Test
+    void samplesWindowsOfLargeFile() throws IOException {
+        // 앞부분 표본 (1MB) 에는 ASCII 만 있고 한글은 파일 끝에만 있는 경우
+        StringBuilder text = new StringBuilder();
+        while (text.length() < 3 * 1024 * 1024) {
+            text.append("    L[3]\n        U4[1]\n        A[Pressure]\n        A[Torr]\n");
+        }
+        text.append(REPLY);
+        assertEquals(CharsetDetector.CP949, detect(text.toString().getBytes(CharsetDetector.CP949), null).getCharset());
+        assertEquals(StandardCharsets.UTF_8, detect(text.toString().getBytes(StandardCharsets.UTF_8), null).getCharset());
+    }
+
+    @Test
+    void readerDecodesCharactersAcrossWindowBoundary() throws IOException {
+        // 창 (1MB) 경계에 3바이트 한글과 4바이트 문자 (대리 쌍) 가 걸치도록 배치
+        int window = 1024 * 1024;
+        String text = "x".repeat(window - 1) + "가나다" + "y".repeat(window - 2) + "😀" + "끝";
+        Path path = write("window.txt", text.getBytes(StandardCharsets.UTF_8));
+        assertEquals(text, readAll(path, 4096));
+        // 한 글자씩 읽으면 대리 쌍은 두 번에 나누어 받음
+        assertEquals(text, readAll(path, 1));
+    }
+
+    private String readAll(Path path, int bufferSize) throws IOException {
+        StringBuilder result = new StringBuilder();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             Reader reader = new MappedFileReader(channel, 0, channel.size(), StandardCharsets.UTF_8)) {
+            char[] buffer = new char[bufferSize];
+            int count;
+            while ((count = reader.read(buffer, 0, buffer.length)) >= 0) {
+                result.append(buffer, 0, count);
+            }
+        }
+        return result.toString();
+    }
+
+    private CharsetDetector.Detection detect(byte[] bytes, Charset charset) throws IOException {
+        Path path = write("sample" + ++sampleCount + ".txt", bytes);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return CharsetDetector.detect(channel, charset, FALLBACK);
+        }
+    }
+
+    private Path write(String name, byte[] bytes) throws IOException {
+        Path path = directory.resolve(name);
+        Files.write(path, bytes);
+        return path;
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] result = new byte[a.length + b.length];
+        System.arraycopy(a, 0, result, 0, a.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
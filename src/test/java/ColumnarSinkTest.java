@@ -0,0 +1,79 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// .svc 로 쓴 항목을 ColumnarFileParser 로 다시 읽으면 같은 문자열이 나오는지 확인
+class ColumnarSinkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsSeveralRowGroups() throws IOException {
+        List<SVIDData> records = new ArrayList<>();
+        for (int i = 0; i < 150000; i++) {
+            // 이름은 서로 달라서 문자열 열, 단위는 반복되므로 사전 열
+            records.add(new SVIDData(Integer.toString(1000 + i * 3), "이름 " + i, i % 2 == 0 ? "Torr" : "℃"));
+        }
+        assertEquals(SVIDRows.rows(records), SVIDRows.rows(roundTrip(records)));
+    }
+
+    @Test
+    void keepsIdsThatAreNotCanonicalNumbers() throws IOException {
+        // 숫자처럼 보여도 long 으로 되돌리면 달라지는 ID 가 있으면 그 행 그룹의 SVID 열은 문자열로 저장
+        List<SVIDData> records = new ArrayList<>();
+        for (String svid : new String[]{"1", "007", "-0", "+5", "-42", "1234567890123456789", "SV_1", ""}) {
+            records.add(new SVIDData(svid, "name " + svid, ""));
+        }
+        records.add(new SVIDData("9", null, null));
+        List<String> expected = SVIDRows.rows(records);
+        expected.set(expected.size() - 1, "9||");
+        assertEquals(expected, SVIDRows.rows(roundTrip(records)));
+    }
+
+    @Test
+    void canonicalLongCheck() {
+        for (String value : new String[]{"0", "7", "-42", "123456789012345678", "-123456789012345678"}) {
+            assertTrue(SVIDData.isCanonicalLong(value), value);
+        }
+        for (String value : new String[]{"", "-", "-0", "007", "+5", "1234567890123456789", "1e3", " 1"}) {
+            assertFalse(SVIDData.isCanonicalLong(value), value);
+        }
+    }
+
+    @Test
+    void abortLeavesNoOutput() throws IOException {
+        Path output = directory.resolve("aborted.svc");
+        ColumnarSink sink = new ColumnarSink(output);
+        sink.write(new SVIDData("1", "a", "b"));
+        sink.abort();
+        assertFalse(Files.exists(output));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private List<SVIDData> roundTrip(List<SVIDData> records) throws IOException {
+        Path output = directory.resolve("list.svc");
+        ColumnarSink sink = new ColumnarSink(output);
+        for (SVIDData data : records) {
+            sink.write(data);
+        }
+        sink.close();
+
+        List<String> warnings = new ArrayList<>();
+        List<SVIDData> result = SVIDRows.parse(new ColumnarFileParser(), output, warnings);
+        assertEquals(List.of(), warnings);
+        return result;
+    }
+}
@@ -0,0 +1,80 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 변환 기록 (manifest) 으로 바뀌지 않은 입력만 건너뛰는지 확인
+class ConversionCacheTest {
+
+    private static final String SETTINGS = "xlsx,charset=auto,type=auto,autosize=false";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void unchangedInputIsUpToDateAfterReload() throws IOException {
+        File input = write("tool.txt", "L[0]\n");
+        File output = write("tool.xlsx", "converted");
+        Path manifest = directory.resolve(ConversionCache.DEFAULT_FILE_NAME);
+        ConversionCache cache = ConversionCache.load(manifest);
+        assertFalse(cache.isUpToDate(input, output, SETTINGS));
+        record(cache, input, output, SETTINGS);
+        cache.save();
+
+        ConversionCache loaded = ConversionCache.load(manifest);
+        assertTrue(loaded.isUpToDate(input, output, SETTINGS));
+        // 출력 파일이 없거나 다른 출력 경로로 변환하는 경우
+        assertFalse(loaded.isUpToDate(input, directory.resolve("other.xlsx").toFile(), SETTINGS));
+        Files.delete(output.toPath());
+        assertFalse(loaded.isUpToDate(input, output, SETTINGS));
+    }
+
+    @Test
+    void onlyModifiedTimeChangedIsCheckedByHash() throws IOException {
+        File input = write("tool.txt", "L[1]\n  A[x]\n");
+        File output = write("tool.xlsx", "converted");
+        Path manifest = directory.resolve(ConversionCache.DEFAULT_FILE_NAME);
+        ConversionCache cache = ConversionCache.load(manifest);
+        record(cache, input, output, SETTINGS);
+
+        // 같은 내용으로 다시 수집 (시각만 바뀜)
+        assertTrue(input.setLastModified(input.lastModified() + 60000));
+        assertTrue(cache.isUpToDate(input, output, SETTINGS));
+        // 새 시각이 기록되므로 저장 후에도 해시 계산 없이 최신
+        cache.save();
+        assertTrue(ConversionCache.load(manifest).isUpToDate(input, output, SETTINGS));
+
+        // 크기가 같고 내용이 다른 경우
+        Files.write(input.toPath(), "L[1]\n  A[y]\n".getBytes(StandardCharsets.US_ASCII));
+        assertTrue(input.setLastModified(input.lastModified() + 120000));
+        assertFalse(cache.isUpToDate(input, output, SETTINGS));
+    }
+
+    @Test
+    void changedSettingsAreNotUpToDate() throws IOException {
+        File input = write("tool.txt", "L[0]\n");
+        File output = write("tool.xlsx", "converted");
+        ConversionCache cache = ConversionCache.load(directory.resolve(ConversionCache.DEFAULT_FILE_NAME));
+        record(cache, input, output, SETTINGS);
+        assertTrue(cache.isUpToDate(input, output, SETTINGS));
+        assertFalse(cache.isUpToDate(input, output, "xlsx,charset=auto,type=ecid,autosize=false"));
+        assertFalse(cache.isUpToDate(input, output, "xlsx,charset=auto,type=auto,autosize=true"));
+    }
+
+    private static void record(ConversionCache cache, File input, File output, String settings) throws IOException {
+        cache.record(input, input.length(), input.lastModified(), ConversionCache.hash(input.toPath()), settings, output);
+    }
+
+    private File write(String name, String text) throws IOException {
+        Path path = directory.resolve(name);
+        Files.write(path, text.getBytes(StandardCharsets.US_ASCII));
+        return path.toFile();
+    }
+}
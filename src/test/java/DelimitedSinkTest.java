@@ -0,0 +1,58 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// 구분자, 따옴표, 줄바꿈이 들어 있는 값만 따옴표로 감싸는지 확인 (RFC 4180)
+class DelimitedSinkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void quotesCsvFieldsOnlyWhenNeeded() throws IOException {
+        Path output = directory.resolve("list.csv");
+        DelimitedSink sink = new DelimitedSink(output, ',');
+        sink.write(new SVIDData("1", "Chamber Pressure", "Torr"));
+        sink.write(new SVIDData("2", "Gas, N2", "sccm"));
+        sink.write(new SVIDData("3", "He said \"hi\"", "\""));
+        sink.write(new SVIDData("4", "two\nlines", "a\r\nb"));
+        sink.write(new SVIDData("5", "tab\there", null));
+        sink.close();
+        assertEquals("SVID,NAME,UNIT\n"
+                + "1,Chamber Pressure,Torr\n"
+                + "2,\"Gas, N2\",sccm\n"
+                + "3,\"He said \"\"hi\"\"\",\"\"\"\"\n"
+                + "4,\"two\nlines\",\"a\r\nb\"\n"
+                + "5,tab\there,\n", read(output));
+    }
+
+    @Test
+    void quotesTsvFieldsWithTabs() throws IOException {
+        Path output = directory.resolve("list.tsv");
+        DelimitedSink sink = new DelimitedSink(output, '\t');
+        sink.write(new SVIDData("1", "tab\there", "a,b"));
+        sink.close();
+        assertEquals("SVID\tNAME\tUNIT\n1\t\"tab\there\"\ta,b\n", read(output));
+    }
+
+    @Test
+    void writesUtf8AndRemovesTemporaryFile() throws IOException {
+        Path output = directory.resolve("utf8.csv");
+        DelimitedSink sink = new DelimitedSink(output, ',');
+        sink.write(new SVIDData("10", "온도", "℃"));
+        sink.close();
+        assertEquals("SVID,NAME,UNIT\n10,온도,℃\n", read(output));
+        assertFalse(Files.exists(directory.resolve("utf8.csv.tmp")));
+    }
+
+    private static String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,146 @@
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 병렬 파싱 (청크 경계에서 나누어 읽기) 결과가 순차 파싱과 항목, 경고, 경고 줄 번호까지 같은지 확인
+// 입력은 병렬로 읽는 최소 크기 (PARALLEL_THRESHOLD) 보다 크게 만듦
+class MappedSVIDParserTest {
+
+    private static ForkJoinPool sequential;
+    private static ForkJoinPool parallel;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void createPools() {
+        sequential = new ForkJoinPool(1);
+        parallel = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPools() {
+        sequential.shutdown();
+        parallel.shutdown();
+    }
+
+    @Test
+    void rootListMatchesSequential() throws IOException {
+        Path input = write("plain.txt", "", entries(0, 150000, -1));
+        List<SVIDData> records = assertSameAsSequential(input);
+        assertEquals(150000, records.size());
+    }
+
+    @Test
+    void replyWithHeaderMatchesSequential() throws IOException {
+        Path input = write("reply.txt", "header junk\nS1F12 W\n", entries(0, 150000, -1));
+        List<SVIDData> records = assertSameAsSequential(input);
+        assertEquals(150000, records.size());
+        assertEquals("1000", records.get(0).getSvid());
+    }
+
+    @Test
+    void malformedEntryWarningsMatchSequential() throws IOException {
+        Path input = write("bad.txt", "S1F12\n", entries(0, 150000, 80000));
+        SVIDListParser parser = new SVIDListParser();
+        List<SVIDData> records = MappedSVIDParser.parse(input, StandardCharsets.UTF_8, parser, parallel);
+        assertTrue(parser.getWarningCount() > 0);
+        assertEquals(149999, records.size());
+        assertSameAsSequential(input);
+    }
+
+    @Test
+    void shortReplyBodyMatchesSequential() throws IOException {
+        Path input = write("short.txt", "S1F12\n", entries(0, 150000, 150010, 80000) + "S1F12\n" + entries(150000, 10, -1));
+        SVIDListParser parser = new SVIDListParser();
+        MappedSVIDParser.parse(input, StandardCharsets.UTF_8, parser, parallel);
+        assertTrue(parser.getWarnings().contains("줄 2: S1F12 본문 L[150010] 의 항목이 150000개만 있습니다"), parser.getWarnings().toString());
+        assertSameAsSequential(input);
+    }
+
+    @Test
+    void surplusReplyEntriesMatchSequential() throws IOException {
+        // 선언된 개수를 넘는 항목은 건너뛰고, 그 앞의 잘못된 항목도 개수에 포함
+        Path input = write("surplus.txt", "S1F12\n", entries(0, 150000, 120000, 80000) + "S1F12\n" + entries(150000, 10, -1));
+        List<SVIDData> records = assertSameAsSequential(input);
+        assertEquals(119999 + 10, records.size());
+        assertEquals("120999", records.get(119998).getSvid());
+    }
+
+    @Test
+    void twoRepliesMatchSequential() throws IOException {
+        Path input = write("trace.txt", "S1F12\n", entries(0, 75000, -1) + "S1F12\n" + entries(75000, 75000, -1));
+        List<SVIDData> records = assertSameAsSequential(input);
+        assertEquals(150000, records.size());
+    }
+
+    @Test
+    void otherReplyTypesAreSkippedWithWarning() throws IOException {
+        Path input = write("mixed.txt", "S1F12\n", entries(0, 75000, -1) + "S2F30\n" + entries(75000, 75000, -1));
+        SVIDListParser parser = new SVIDListParser();
+        List<SVIDData> records = MappedSVIDParser.parse(input, StandardCharsets.UTF_8, parser, parallel);
+        assertEquals(75000, records.size());
+        assertEquals(1, parser.getSkippedMessageCount());
+        assertSameAsSequential(input);
+        // 지정한 종류와 다른 첫 응답도 같은 경고로 건너뜀
+        assertEquals(0, assertSameAsSequential(input, NamelistProjection.ECID).size());
+    }
+
+    private List<SVIDData> assertSameAsSequential(Path input) throws IOException {
+        return assertSameAsSequential(input, null);
+    }
+
+    private List<SVIDData> assertSameAsSequential(Path input, NamelistProjection projection) throws IOException {
+        assertTrue(Files.size(input) > MappedSVIDParser.PARALLEL_THRESHOLD);
+        SVIDListParser sequentialParser = new SVIDListParser(projection);
+        SVIDListParser parallelParser = new SVIDListParser(projection);
+        List<SVIDData> expected = MappedSVIDParser.parse(input, StandardCharsets.UTF_8, sequentialParser, sequential);
+        List<SVIDData> actual = MappedSVIDParser.parse(input, StandardCharsets.UTF_8, parallelParser, parallel);
+        assertEquals(SVIDRows.rows(expected), SVIDRows.rows(actual));
+        assertEquals(sequentialParser.getWarnings(), parallelParser.getWarnings());
+        return actual;
+    }
+
+    private static String entries(int first, int count, int bad) {
+        return entries(first, count, count, bad);
+    }
+
+    // L[declared] 아래 SVID 항목 count 개 (7개마다 이름이 두 줄에 걸친 A[...], bad 번째 항목은 필드가 두 개뿐인 잘못된 항목)
+    private static String entries(int first, int count, int declared, int bad) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("L[").append(declared).append("]\n");
+        for (int i = first; i < first + count; i++) {
+            if (i == bad) {
+                builder.append("    L[2]\n");
+                builder.append("        U4[").append(1000 + i).append("]\n        A[no unit]\n");
+                continue;
+            }
+            builder.append("    L[3]\n");
+            builder.append("        U4[").append(1000 + i).append("]\n");
+            if (i % 7 == 0) {
+                builder.append("        A[Chamber ").append(i).append("\n            Pressure]\n");
+            } else {
+                builder.append("        A[Name ").append(i).append(" ").append("x".repeat(i % 13)).append("]\n");
+            }
+            builder.append("        A[").append(i % 3 == 0 ? "Torr" : "sccm").append("]\n");
+        }
+        return builder.toString();
+    }
+
+    private Path write(String name, String header, String body) throws IOException {
+        Path path = directory.resolve(name);
+        Files.write(path, (header + body).getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+}
@@ -0,0 +1,92 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 여러 메시지가 담긴 호스트 트레이스에서 목록 응답만 골라 변환하는지 확인
+class SECSMessageSplitterTest {
+
+    private static final String TRACE = "2026-10-17 10:00:00.000 H->E S1F11 W SystemBytes=1\n"
+            + "L[0]\n"
+            + "2026-10-17 10:00:00.001 E->H S1F12 SystemBytes=2\n"
+            + "L[2]\n"
+            + "  L[3]\n"
+            + "    U4[10]\n"
+            + "    A[SV_10]\n"
+            + "    A[mm]\n"
+            + "  L[3]\n"
+            + "    U4[11]\n"
+            + "    A[SV_11]\n"
+            + "    A[mm]\n"
+            + "2026-10-17 10:00:00.002 E->H S2F30 SystemBytes=3\n"
+            + "L[1]\n"
+            + "  L[6]\n"
+            + "    U2[20]\n"
+            + "    A[EC_20]\n"
+            + "    U4[0]\n"
+            + "    U4[100]\n"
+            + "    U4[5]\n"
+            + "    A[sec]\n"
+            + "2026-10-17 10:00:00.003 E->H S6F11 W SystemBytes=4\n"
+            + "L[3]\n"
+            + "  U4[1]\n"
+            + "  U4[200]\n"
+            + "  L[0]\n"
+            + "2026-10-17 10:00:00.004 E->H S1F12 SystemBytes=5\n"
+            + "L[3]\n"
+            + "  L[3]\n"
+            + "    U4[40]\n"
+            + "    A[T]\n"
+            + "    A[%]\n"
+            + "2026-10-17 10:00:00.005 H->E S1F11 W SystemBytes=6\n"
+            + "L[0]\n";
+
+    @Test
+    void extractsRepliesOfFirstListType() throws IOException {
+        SVIDListParser parser = new SVIDListParser();
+        List<String> rows = SVIDRows.parse(parser, TRACE);
+        assertEquals(List.of("10|SV_10|mm", "11|SV_11|mm", "40|T|%"), rows);
+        assertEquals(NamelistProjection.SVID, parser.getProjection());
+        assertEquals(2, parser.getMessageCount());
+        // 종류가 다른 응답은 건너뛰고, 다음 메시지 헤더에서 끝난 짧은 본문은 본문 리스트 줄에 경고
+        assertEquals(List.of("줄 13: S2F30 (ID 3) 응답은 ECID 목록이므로 건너뜁니다 (SVID 목록으로 변환 중, -t ecid 로 따로 변환)",
+                "줄 28: S1F12 (ID 5) 본문 L[3] 의 항목이 1개만 있습니다"), parser.getWarnings());
+        assertEquals(1, parser.getSkippedMessageCount());
+    }
+
+    @Test
+    void forcedTypeSelectsMatchingReplies() throws IOException {
+        SVIDListParser parser = new SVIDListParser(NamelistProjection.ECID);
+        assertEquals(List.of("20|EC_20|sec"), SVIDRows.parse(parser, TRACE));
+        assertEquals(1, parser.getMessageCount());
+        assertEquals(2, parser.getSkippedMessageCount());
+    }
+
+    @Test
+    void parsesHeaderLine() {
+        String line = "2026-10-17 10:00:00.004 E->H S1F12 W SystemBytes=5";
+        SECSMessageHeader header = SECSMessageHeader.parse(line.toCharArray(), 0, line.length(), 7);
+        assertEquals(1, header.getStream());
+        assertEquals(12, header.getFunction());
+        assertTrue(header.isWaitBit());
+        assertEquals(SECSMessageHeader.Direction.EQUIPMENT_TO_HOST, header.getDirection());
+        assertEquals(5, header.getTransactionId());
+        assertEquals(7, header.getLineNumber());
+    }
+
+    @Test
+    void findsStreamFunctionInMappedBytes() {
+        // 메모리 맵 경로 (바이트) 와 문자열 경로가 같은 위치를 찾는지
+        String line = "10:00:00 [Recv] S2F30 SB=3";
+        ByteBuffer bytes = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+        int expected = SECSMessageHeader.findStreamFunction(line.toCharArray(), 0, line.length());
+        assertEquals(line.indexOf("S2F30"), expected);
+        assertEquals(expected, SECSMessageHeader.findStreamFunction(bytes, 0, line.length()));
+        assertEquals(-1, SECSMessageHeader.findStreamFunction(ByteBuffer.wrap("  L[3]".getBytes(StandardCharsets.US_ASCII)), 0, 6));
+    }
+}
@@ -0,0 +1,103 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SMLTokenizerTest {
+
+    private static final String REPLY = "S1F12\n"
+            + "L[2]\n"
+            + "  L[3]\n"
+            + "    U4[1001]\n"
+            + "    A[Chamber\n"
+            + "      Pressure]\n"
+            + "    A[Torr]\n"
+            + "  L[3]\n"
+            + "    U4[1002]\n"
+            + "    A[open\n"
+            + "    U4[5]\n";
+
+    @Test
+    void joinsMultiLineAsciiAcrossBufferRefills() throws IOException {
+        List<String> expected = tokens(new SMLTokenizer(REPLY.toCharArray(), 0, REPLY.length()));
+        // 이어지는 줄은 들여쓰기 없이 공백 하나로 이어 붙임
+        assertEquals("6 A[Chamber Pressure] = Chamber Pressure", expected.get(4));
+        // 버퍼 크기와 한 번에 읽는 글자 수를 바꿔서 A[...] 의 모든 위치에서 버퍼를 다시 채우게 함
+        for (int bufferSize = 16; bufferSize <= 48; bufferSize++) {
+            for (int chunk = 1; chunk <= 5; chunk++) {
+                SMLTokenizer tokenizer = new SMLTokenizer(new TrickleReader(REPLY, chunk), bufferSize);
+                assertEquals(expected, tokens(tokenizer), "bufferSize=" + bufferSize + ", chunk=" + chunk);
+                SMLTokenizer crlf = new SMLTokenizer(new TrickleReader(REPLY.replace("\n", "\r\n"), chunk), bufferSize);
+                assertEquals(expected, tokens(crlf), "CRLF bufferSize=" + bufferSize + ", chunk=" + chunk);
+            }
+        }
+    }
+
+    @Test
+    void unterminatedAsciiStopsBeforeNextItem() throws IOException {
+        List<String> tokens = tokens(new SMLTokenizer(new StringReader(REPLY), 16));
+        assertEquals("10 A[open = open", tokens.get(8));
+        assertEquals("11 U4[5] = 5", tokens.get(9));
+    }
+
+    @Test
+    void growsBufferForLineLongerThanBuffer() throws IOException {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            name.append((char) ('a' + i % 26));
+        }
+        String text = "L[1]\n  A[" + name + "]\n";
+        SMLTokenizer tokenizer = new SMLTokenizer(new TrickleReader(text, 7), 16);
+        assertTrue(tokenizer.next());
+        assertTrue(tokenizer.isList());
+        assertEquals(1, tokenizer.getListSize());
+        assertTrue(tokenizer.next());
+        assertEquals(SECSFormat.ASCII, tokenizer.getFormat());
+        assertEquals(name.toString(), tokenizer.valueAsString());
+        assertFalse(tokenizer.next());
+    }
+
+    // "줄번호 토큰 = 값" 목록 (아이템이 아닌 줄은 값 없이)
+    private static List<String> tokens(SMLTokenizer tokenizer) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        while (tokenizer.next()) {
+            tokens.add(tokenizer.getLineNumber() + " " + tokenizer.tokenAsString()
+                    + (tokenizer.isItem() ? " = " + tokenizer.valueAsString() : ""));
+        }
+        return tokens;
+    }
+
+    // 한 번에 최대 chunk 글자만 돌려주는 Reader
+    private static class TrickleReader extends Reader {
+        private final String text;
+        private final int chunk;
+        private int pos;
+
+        TrickleReader(String text, int chunk) {
+            this.text = text;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (pos >= text.length()) {
+                return -1;
+            }
+            int n = Math.min(Math.min(len, chunk), text.length() - pos);
+            text.getChars(pos, pos + n, cbuf, off);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
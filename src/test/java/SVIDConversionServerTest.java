@@ -0,0 +1,150 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 임의 포트의 로컬 변환 서버에 실제 HTTP 요청을 보내서 응답 확인
+class SVIDConversionServerTest {
+
+    private static final String REPLY = "S1F12\n"
+            + "L[2]\n"
+            + "  L[3]\n"
+            + "    U4[1001]\n"
+            + "    A[Chamber Pressure]\n"
+            + "    A[Torr]\n"
+            + "  L[3]\n"
+            + "    U4[1002]\n"
+            + "    A[Gas, N2]\n"
+            + "    A[sccm]\n";
+
+    @TempDir
+    Path directory;
+
+    private SVIDConversionServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new SVIDConversionServer(0, 2);
+        server.setDefaultFormat(OutputFormat.CSV);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void convertsRequestBody() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/convert"))
+                .header("Content-Type", "text/plain; charset=UTF-8")
+                .POST(HttpRequest.BodyPublishers.ofString(REPLY, StandardCharsets.UTF_8)));
+        assertEquals(200, response.statusCode());
+        assertEquals("text/csv; charset=UTF-8", response.headers().firstValue("Content-Type").orElse(null));
+        assertEquals("2", response.headers().firstValue("X-SVID-Records").orElse(null));
+        assertEquals("0", response.headers().firstValue("X-SVID-Warnings").orElse(null));
+        assertEquals("SVID,NAME,UNIT\n1001,Chamber Pressure,Torr\n1002,\"Gas, N2\",sccm\n", response.body());
+    }
+
+    @Test
+    void formatParameterOverridesDefault() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/convert?format=tsv"))
+                .POST(HttpRequest.BodyPublishers.ofString(REPLY, StandardCharsets.UTF_8)));
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("SVID\tNAME\tUNIT\n1001\tChamber Pressure\tTorr\n"), response.body());
+    }
+
+    @Test
+    void convertsFileByPath() throws IOException, InterruptedException {
+        Path input = directory.resolve("tool.txt");
+        Path output = directory.resolve("tool.csv");
+        Files.write(input, REPLY.getBytes(StandardCharsets.UTF_8));
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/convert?path=" + encode(input.toString())
+                + "&output=" + encode(output.toString()))).POST(HttpRequest.BodyPublishers.noBody()));
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"records\": 2"), response.body());
+        assertTrue(response.body().contains("\"warnings\": []"), response.body());
+        assertEquals("SVID,NAME,UNIT\n1001,Chamber Pressure,Torr\n1002,\"Gas, N2\",sccm\n",
+                new String(Files.readAllBytes(output), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rejectsBadRequests() throws IOException, InterruptedException {
+        assertEquals(405, send(HttpRequest.newBuilder(uri("/convert")).GET()).statusCode());
+        assertEquals(404, send(HttpRequest.newBuilder(uri("/convert?path=" + encode(directory.resolve("missing.txt").toString())))
+                .POST(HttpRequest.BodyPublishers.noBody())).statusCode());
+        assertEquals(400, send(HttpRequest.newBuilder(uri("/convert?format=pdf"))
+                .POST(HttpRequest.BodyPublishers.ofString(REPLY))).statusCode());
+        server.setMaxBodyBytes(16);
+        assertEquals(413, send(HttpRequest.newBuilder(uri("/convert"))
+                .POST(HttpRequest.BodyPublishers.ofString(REPLY))).statusCode());
+    }
+
+    @Test
+    void rejectsBrowserOrigin() throws IOException, InterruptedException {
+        Path input = directory.resolve("tool.txt");
+        Files.write(input, REPLY.getBytes(StandardCharsets.UTF_8));
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/convert?path=" + encode(input.toString())))
+                .header("Origin", "http://example.com")
+                .header("Content-Type", "text/plain")
+                .POST(HttpRequest.BodyPublishers.noBody()));
+        assertEquals(403, response.statusCode());
+        assertFalse(Files.exists(directory.resolve("tool.csv")));
+    }
+
+    @Test
+    void rejectsOutputOutsideDirectory() throws IOException, InterruptedException {
+        Path tools = Files.createDirectory(directory.resolve("tools"));
+        Path input = tools.resolve("tool.txt");
+        Files.write(input, REPLY.getBytes(StandardCharsets.UTF_8));
+        for (String output : new String[]{"../escaped.csv", directory.resolve("escaped.csv").toString(), "."}) {
+            HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/convert?path=" + encode(input.toString())
+                    + "&output=" + encode(output))).POST(HttpRequest.BodyPublishers.noBody()));
+            assertEquals(400, response.statusCode(), output);
+        }
+        assertFalse(Files.exists(directory.resolve("escaped.csv")));
+        // 상대 경로는 입력 파일의 디렉터리 기준
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/convert?path=" + encode(input.toString())
+                + "&output=" + encode("renamed.csv"))).POST(HttpRequest.BodyPublishers.noBody()));
+        assertEquals(200, response.statusCode(), response.body());
+        assertTrue(Files.exists(tools.resolve("renamed.csv")));
+    }
+
+    @Test
+    void reportsHealth() throws IOException, InterruptedException {
+        send(HttpRequest.newBuilder(uri("/convert")).POST(HttpRequest.BodyPublishers.ofString(REPLY)));
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/health")).GET());
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"status\": \"ok\""), response.body());
+        assertTrue(response.body().contains("\"maxConcurrent\": 2"), response.body());
+        assertTrue(response.body().contains("\"completed\": 1"), response.body());
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,101 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 두 목록 버전 비교 결과 확인 (메모리 정렬과 임시 파일로 나누어 정렬한 경우 모두)
+class SVIDDiffTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reportsChangesInSvidOrder() throws IOException {
+        Path before = write("before.txt", reply("1|Pressure|Torr", "2|Flow|sccm", "10|Temp|C", "SV_A|Alarm|"));
+        Path after = write("after.txt", reply("2|Gas Flow|sccm", "1|Pressure|Pa", "3|Power|W", "SV_A|Alarm|"));
+        for (int runSize : new int[]{SVIDDiff.DEFAULT_RUN_SIZE, 2}) {
+            List<String> warnings = new ArrayList<>();
+            SVIDDiff diff = diff(runSize);
+            assertEquals(List.of("UNIT_CHANGED 1", "RENAMED 2", "ADDED 3", "REMOVED 10"), run(diff, before, after, warnings));
+            assertEquals(1, diff.getUnchangedCount());
+            assertEquals(List.of(), warnings);
+        }
+    }
+
+    @Test
+    void repeatedRepliesCompareOncePerSvid() throws IOException {
+        // 같은 응답을 두 번 받은 트레이스와 한 번 받은 목록
+        String poll = reply("1|Pressure|Torr", "2|Flow|sccm", "3|Temp|C");
+        Path before = write("before.txt", poll + poll);
+        Path after = write("after.txt", reply("1|Pressure|Torr", "2|Gas Flow|sccm", "3|Temp|C"));
+        for (int runSize : new int[]{SVIDDiff.DEFAULT_RUN_SIZE, 2}) {
+            List<String> warnings = new ArrayList<>();
+            SVIDDiff diff = diff(runSize);
+            assertEquals(List.of("RENAMED 2"), run(diff, before, after, warnings), "runSize=" + runSize);
+            assertEquals(2, diff.getUnchangedCount());
+            assertEquals(List.of(), warnings);
+        }
+    }
+
+    @Test
+    void conflictingDuplicatesKeepLastWithWarning() throws IOException {
+        Path before = write("before.txt", reply("1|Pressure|Torr", "2|Flow|sccm")
+                + reply("1|Chamber Pressure|Torr", "2|Flow|sccm"));
+        Path after = write("after.txt", reply("1|Chamber Pressure|Torr", "2|Flow|sccm"));
+        for (int runSize : new int[]{SVIDDiff.DEFAULT_RUN_SIZE, 2}) {
+            List<String> warnings = new ArrayList<>();
+            SVIDDiff diff = diff(runSize);
+            assertEquals(List.of(), run(diff, before, after, warnings), "runSize=" + runSize);
+            assertEquals(2, diff.getUnchangedCount());
+            assertEquals(List.of("before.txt: SVID 1 항목이 2개이고 이름이나 단위가 달라서 마지막 항목으로 비교합니다"), warnings);
+        }
+    }
+
+    private static SVIDDiff diff(int runSize) {
+        SVIDDiff diff = new SVIDDiff(new SMLFileParser(StandardCharsets.UTF_8, NamelistProjection.SVID));
+        diff.setRunSize(runSize);
+        return diff;
+    }
+
+    private static List<String> run(SVIDDiff diff, Path before, Path after, List<String> warnings) throws IOException {
+        List<String> changes = new ArrayList<>();
+        diff.diff(before, after, new Consumer<String>() {
+            @Override
+            public void accept(String warning) {
+                warnings.add(warning);
+            }
+        }, new SVIDDiff.Handler() {
+            @Override
+            public void changed(SVIDDiff.ChangeType type, SVIDData beforeData, SVIDData afterData) {
+                changes.add(type + " " + (beforeData != null ? beforeData : afterData).getSvid());
+            }
+        });
+        return changes;
+    }
+
+    // "SVID|NAME|UNIT" 항목들의 S1F12 응답
+    private static String reply(String... rows) {
+        StringBuilder builder = new StringBuilder("S1F12\nL[").append(rows.length).append("]\n");
+        for (String row : rows) {
+            String[] fields = row.split("\\|", -1);
+            String svid = fields[0].startsWith("SV_") ? "A[" + fields[0] + "]" : "U4[" + fields[0] + "]";
+            builder.append("  L[3]\n    ").append(svid).append("\n    A[").append(fields[1])
+                    .append("]\n    A[").append(fields[2]).append("]\n");
+        }
+        return builder.toString();
+    }
+
+    private Path write(String name, String text) throws IOException {
+        Path path = directory.resolve(name);
+        Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+}
@@ -0,0 +1,191 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 목록 응답 메시지 본문 (S1F12, S2F30, S1F24, S2F33) 을 SECS-II 아이템 트리로 읽어서 변환한 결과 확인
+class SVIDListParserTest {
+
+    @Test
+    void svidReply() throws IOException {
+        SVIDListParser parser = new SVIDListParser();
+        List<String> rows = SVIDRows.parse(parser, "S1F12\n"
+                + "L[3]\n"
+                + "  L[3]\n"
+                + "    U4[1001]\n"
+                + "    A[Chamber Pressure]\n"
+                + "    A[Torr]\n"
+                + "  L[3]\n"
+                + "    A[SV_2]\n"
+                + "    A[Gas\n"
+                + "      Flow]\n"
+                + "    A[sccm]\n"
+                + "  L[3]\n"
+                + "    I2[-3]\n"
+                + "    A[Offset]\n"
+                + "    A[]\n");
+        assertEquals(NamelistProjection.SVID, parser.getProjection());
+        assertEquals(List.of("1001|Chamber Pressure|Torr", "SV_2|Gas Flow|sccm", "-3|Offset|"), rows);
+        assertEquals(List.of(), parser.getWarnings());
+    }
+
+    @Test
+    void multiLineNamesIgnoreIndentationAndLineEndings() throws IOException {
+        String reply = "S1F12\n"
+                + "L[1]\n"
+                + "  L[3]\n"
+                + "    U4[7]\n"
+                + "    A[Gas\n"
+                + "      Flow   \n"
+                + "\n"
+                + "        Rate]\n"
+                + "    A[sccm]\n";
+        List<String> expected = List.of("7|Gas Flow Rate|sccm");
+        assertEquals(expected, SVIDRows.parse(new SVIDListParser(), reply));
+        assertEquals(expected, SVIDRows.parse(new SVIDListParser(), reply.replace("\n", "\r\n")));
+        assertEquals(expected, SVIDRows.parse(new SVIDListParser(), reply.replace("      Flow", "Flow").replace("\n", "\r\n")));
+    }
+
+    @Test
+    void ecidReplyTakesUnitsFromSixthField() throws IOException {
+        SVIDListParser parser = new SVIDListParser();
+        List<String> rows = SVIDRows.parse(parser, "S2F30\n"
+                + "L[2]\n"
+                + "  L[6]\n"
+                + "    U4[2001]\n"
+                + "    A[Heater Setpoint]\n"
+                + "    F4[0.0]\n"
+                + "    F4[450.5]\n"
+                + "    F4[200]\n"
+                + "    A[degC]\n"
+                + "  L[6]\n"
+                + "    U2[2002]\n"
+                + "    A[Timeout]\n"
+                + "    U4[1]\n"
+                + "    U4[600]\n"
+                + "    U4[30]\n"
+                + "    A[s]\n");
+        assertEquals(NamelistProjection.ECID, parser.getProjection());
+        assertEquals(List.of("2001|Heater Setpoint|degC", "2002|Timeout|s"), rows);
+    }
+
+    @Test
+    void ceidReplyListsLinkedVids() throws IOException {
+        SVIDListParser parser = new SVIDListParser();
+        List<String> rows = SVIDRows.parse(parser, "S1F24\n"
+                + "L[2]\n"
+                + "  L[3]\n"
+                + "    U4[300]\n"
+                + "    A[Lot Start]\n"
+                + "    L[3]\n"
+                + "      U4[1001]\n"
+                + "      U4[1002]\n"
+                + "      U4[1003]\n"
+                + "  L[3]\n"
+                + "    U4[301]\n"
+                + "    A[Lot End]\n"
+                + "    L[0]\n");
+        assertEquals(NamelistProjection.CEID, parser.getProjection());
+        assertEquals(List.of("300|Lot Start|1001 1002 1003", "301|Lot End|"), rows);
+    }
+
+    @Test
+    void rptidReplyReadsReportsUnderDataId() throws IOException {
+        SVIDListParser parser = new SVIDListParser();
+        List<String> rows = SVIDRows.parse(parser, "S2F33 W\n"
+                + "L[2]\n"
+                + "  U4[1]\n"
+                + "  L[2]\n"
+                + "    L[2]\n"
+                + "      U4[10]\n"
+                + "      L[2]\n"
+                + "        U4[1001]\n"
+                + "        U4[1002]\n"
+                + "    L[2]\n"
+                + "      U4[11]\n"
+                + "      L[1]\n"
+                + "        L[1]\n"
+                + "          U4[9]\n");
+        assertEquals(NamelistProjection.RPTID, parser.getProjection());
+        // 중첩 리스트는 VID 가 아니므로 건너뜀
+        assertEquals(List.of("10||1001 1002", "11||"), rows);
+    }
+
+    @Test
+    void skipsMalformedEntriesWithWarning() throws IOException {
+        SVIDListParser parser = new SVIDListParser();
+        List<String> rows = SVIDRows.parse(parser, "S1F12\n"
+                + "L[3]\n"
+                + "  L[3]\n"
+                + "    U4[1]\n"
+                + "    A[A]\n"
+                + "    A[V]\n"
+                + "  L[2]\n"
+                + "    U4[2]\n"
+                + "    A[B]\n"
+                + "  L[3]\n"
+                + "    U4[3]\n"
+                + "    A[C]\n"
+                + "    A[mm]\n");
+        assertEquals(List.of("1|A|V", "3|C|mm"), rows);
+        assertEquals(1, parser.getWarningCount());
+        assertTrue(parser.getWarnings().get(0).startsWith("줄 7: SVID 항목 형식이 아닙니다"), parser.getWarnings().get(0));
+    }
+
+    @Test
+    void rejectsOutOfRangeIntegers() throws IOException {
+        SVIDListParser parser = new SVIDListParser();
+        List<String> rows = SVIDRows.parse(parser, "S1F12\n"
+                + "L[4]\n"
+                + "  L[3]\n"
+                + "    U1[255]\n"
+                + "    A[max]\n"
+                + "    A[]\n"
+                + "  L[3]\n"
+                + "    U1[256]\n"
+                + "    A[overflow]\n"
+                + "    A[]\n"
+                + "  L[3]\n"
+                + "    U4[-1]\n"
+                + "    A[negative]\n"
+                + "    A[]\n"
+                + "  L[3]\n"
+                + "    U8[18446744073709551615]\n"
+                + "    A[u8 max]\n"
+                + "    A[]\n");
+        // 값이 없는 ID 는 항목 형식 경고로 건너뜀
+        assertEquals(List.of("255|max|", "18446744073709551615|u8 max|"), rows);
+        List<String> warnings = parser.getWarnings();
+        assertTrue(warnings.contains("줄 8: U1 값이 정수가 아니거나 범위를 벗어났습니다 (256)"), warnings.toString());
+        assertTrue(warnings.contains("줄 12: U4 값이 정수가 아니거나 범위를 벗어났습니다 (-1)"), warnings.toString());
+    }
+
+    @Test
+    void parseLongChecksFormatRange() {
+        assertEquals(-128, parseLong("-128", SECSFormat.I1));
+        assertEquals(Long.MIN_VALUE, parseLong("-9223372036854775808", SECSFormat.I8));
+        assertEquals(-1L, parseLong("0xFFFFFFFFFFFFFFFF", SECSFormat.U8));
+        assertEquals(0xFFFFFFFFL, parseLong("4294967295", SECSFormat.U4));
+        for (String[] rejected : new String[][]{{"128", "I1"}, {"-32769", "I2"}, {"2147483648", "I4"},
+                {"9223372036854775808", "I8"}, {"-1", "U1"}, {"65536", "U2"}, {"4294967296", "U4"},
+                {"18446744073709551616", "U8"}, {"99999999999999999999999", "I8"}}) {
+            assertNull(parseLongOrNull(rejected[0], SECSFormat.valueOf(rejected[1])), rejected[1] + " " + rejected[0]);
+        }
+    }
+
+    private static long parseLong(String text, SECSFormat format) {
+        return SECSItemParser.parseLong(text.toCharArray(), 0, text.length(), format);
+    }
+
+    private static Long parseLongOrNull(String text, SECSFormat format) {
+        try {
+            return parseLong(text, format);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
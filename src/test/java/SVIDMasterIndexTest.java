@@ -0,0 +1,139 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 통합 인덱스를 만들어 파일로 쓴 뒤 다시 열어서 SVID, 이름, 단위로 조회한 결과 확인
+class SVIDMasterIndexTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void queriesBySvidNameAndUnit() throws IOException {
+        SVIDMasterIndex.Builder builder = new SVIDMasterIndex.Builder();
+        builder.add("LTS40", new SVIDData("1001", "Chamber Pressure", "Torr"));
+        builder.add("LTS40", new SVIDData("1002", "챔버 온도", "℃"));
+        builder.add("LTS40", new SVIDData("SV_3", "Gas Flow", "sccm"));
+        builder.add("ETCH2", new SVIDData("1001", "Foreline Pressure", "Torr"));
+        builder.add("ETCH2", new SVIDData("2001", "RF Power", null));
+        SVIDMasterIndex index = write(builder, "master.idx");
+
+        assertEquals(5, index.size());
+        assertEquals(List.of("LTS40", "ETCH2"), index.getTools());
+        assertEquals("LTS40|1002|챔버 온도|℃", row(index, index.find("LTS40", "1002")));
+        assertEquals(-1, index.find("ETCH2", "1002"));
+        assertEquals(-1, index.find("CVD1", "1001"));
+        assertEquals(-1, index.find("LTS40", "9999"));
+
+        // 같은 SVID 는 장비 순
+        assertEquals(List.of("ETCH2|1001|Foreline Pressure|Torr", "LTS40|1001|Chamber Pressure|Torr"),
+                rows(index, index.findBySvid("1001")));
+        assertEquals(List.of(), rows(index, index.findBySvid("100")));
+        assertEquals(List.of("ETCH2|1001|Foreline Pressure|Torr", "LTS40|1001|Chamber Pressure|Torr"),
+                rows(index, index.findByUnit("Torr")));
+        assertEquals(List.of("ETCH2|2001|RF Power|"), rows(index, index.findByUnit("")));
+        assertEquals(List.of(), rows(index, index.findByUnit("torr")));
+
+        // 이름은 ASCII 대소문자를 무시한 일부 일치 (두 이름에 걸친 일치는 제외)
+        assertEquals(List.of("ETCH2|1001|Foreline Pressure|Torr", "LTS40|1001|Chamber Pressure|Torr"),
+                rows(index, index.searchName("PRESSURE", 10)));
+        assertEquals(List.of("LTS40|1002|챔버 온도|℃"), rows(index, index.searchName("온도", 10)));
+        assertEquals(List.of(), rows(index, index.searchName("reChamber", 10)));
+        assertEquals(1, index.searchName("pressure", 1).length);
+
+        assertEquals(List.of("LTS40|1001|Chamber Pressure|Torr"), rows(index, index.query("LTS40", null, "press", null, 10)));
+        assertEquals(List.of("ETCH2|1001|Foreline Pressure|Torr"), rows(index, index.query(null, "1001", "fore", "Torr", 10)));
+        assertEquals(List.of("LTS40|SV_3|Gas Flow|sccm"), rows(index, index.query("LTS40", null, null, "sccm", 10)));
+        assertEquals(List.of(), rows(index, index.query("CVD1", null, null, null, 10)));
+        assertEquals(5, index.query(null, null, null, null, 100).length);
+    }
+
+    @Test
+    void lastAddedRecordWinsForSameToolAndSvid() throws IOException {
+        SVIDMasterIndex.Builder builder = new SVIDMasterIndex.Builder();
+        builder.add("LTS40", new SVIDData("1", "old", "Torr"));
+        builder.add("ETCH2", new SVIDData("1", "other tool", "Pa"));
+        builder.add("LTS40", new SVIDData("1", "new", "mTorr"));
+        SVIDMasterIndex index = write(builder, "master.idx");
+        assertEquals(2, index.size());
+        assertEquals("LTS40|1|new|mTorr", row(index, index.find("LTS40", "1")));
+        assertEquals(List.of(), rows(index, index.findByUnit("Torr")));
+        assertEquals(List.of("LTS40|1|new|mTorr"), rows(index, index.findByUnit("mTorr")));
+    }
+
+    @Test
+    void addAllReplacesExcludedTools() throws IOException {
+        SVIDMasterIndex.Builder first = new SVIDMasterIndex.Builder();
+        first.add("LTS40", new SVIDData("1", "Pressure", "Torr"));
+        first.add("LTS40", new SVIDData("2", "Removed", "sccm"));
+        first.add("ETCH2", new SVIDData("1", "Power", "W"));
+        SVIDMasterIndex previous = write(first, "previous.idx");
+
+        // LTS40 목록만 다시 변환한 경우
+        SVIDMasterIndex.Builder second = new SVIDMasterIndex.Builder();
+        second.addAll(previous, Set.of("LTS40"));
+        second.add("LTS40", new SVIDData("1", "Chamber Pressure", "Torr"));
+        second.add("LTS40", new SVIDData("3", "Added", "%"));
+        SVIDMasterIndex index = write(second, "master.idx");
+
+        assertEquals(List.of("ETCH2|1|Power|W", "LTS40|1|Chamber Pressure|Torr", "LTS40|3|Added|%"),
+                rows(index, index.query(null, null, null, null, 10)));
+        assertEquals(List.of(), rows(index, index.findByUnit("sccm")));
+    }
+
+    @Test
+    void findsEverySvidInLargeIndex() throws IOException {
+        // 해시 충돌과 긴 탐색 구간이 생기도록 충분히 많은 레코드
+        SVIDMasterIndex.Builder builder = new SVIDMasterIndex.Builder();
+        for (int i = 0; i < 20000; i++) {
+            builder.add(i % 2 == 0 ? "A" : "B", new SVIDData(Integer.toString(i / 2), "name " + i, "u" + i % 7));
+        }
+        SVIDMasterIndex index = write(builder, "large.idx");
+        assertEquals(20000, index.size());
+        for (int i = 0; i < 10000; i++) {
+            String svid = Integer.toString(i);
+            assertEquals(2, index.findBySvid(svid).length, svid);
+            assertEquals("name " + (i * 2 + 1), index.getName(index.find("B", svid)));
+        }
+        int total = 0;
+        for (int unit = 0; unit < 7; unit++) {
+            total += index.findByUnit("u" + unit).length;
+        }
+        assertEquals(20000, total);
+    }
+
+    @Test
+    void toolNameFromListFileName() {
+        assertEquals("LTS40", SVIDMasterIndex.toolNameOf(new File("LTS40_SVID LIST.txt")));
+        assertEquals("ATM10", SVIDMasterIndex.toolNameOf(new File("ATM10_SVID LIST.xlsx")));
+        assertEquals("ETCH2", SVIDMasterIndex.toolNameOf(new File("ETCH2-ecid.txt")));
+        assertEquals("CVD1", SVIDMasterIndex.toolNameOf(new File("CVD1.txt")));
+        assertEquals("SVID", SVIDMasterIndex.toolNameOf(new File("SVID.txt")));
+    }
+
+    private SVIDMasterIndex write(SVIDMasterIndex.Builder builder, String name) throws IOException {
+        Path file = directory.resolve(name);
+        builder.write(file);
+        return SVIDMasterIndex.open(file);
+    }
+
+    private static String row(SVIDMasterIndex index, int record) {
+        return index.getTool(record) + "|" + SVIDRows.row(index.getRecord(record));
+    }
+
+    private static List<String> rows(SVIDMasterIndex index, int[] records) {
+        List<String> rows = new ArrayList<>();
+        for (int record : records) {
+            rows.add(row(index, record));
+        }
+        return rows;
+    }
+}
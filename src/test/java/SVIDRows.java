@@ -0,0 +1,48 @@
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// 테스트에서 항목을 "SVID|NAME|UNIT" 문자열로 비교하기 위한 공용 도우미 (null 은 빈 문자열)
+final class SVIDRows {
+
+    private SVIDRows() {
+    }
+
+    static String row(SVIDData data) {
+        return data.getSvid() + "|" + (data.getName() != null ? data.getName() : "") + "|"
+                + (data.getUnit() != null ? data.getUnit() : "");
+    }
+
+    static List<String> rows(Iterable<SVIDData> records) {
+        List<String> rows = new ArrayList<>();
+        for (SVIDData data : records) {
+            rows.add(row(data));
+        }
+        return rows;
+    }
+
+    // SML 텍스트를 목록 파서로 읽은 행
+    static List<String> parse(SVIDListParser parser, String text) throws IOException {
+        return rows(parser.parse(new StringReader(text)));
+    }
+
+    // 파일 파서로 읽은 항목 (경고는 warnings 에 추가)
+    static List<SVIDData> parse(SVIDParser parser, Path input, List<String> warnings) throws IOException {
+        List<SVIDData> records = new ArrayList<>();
+        parser.parse(input, new Consumer<SVIDData>() {
+            @Override
+            public void accept(SVIDData data) {
+                records.add(data);
+            }
+        }, new Consumer<String>() {
+            @Override
+            public void accept(String warning) {
+                warnings.add(warning);
+            }
+        });
+        return records;
+    }
+}
@@ -0,0 +1,54 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 변환한 Excel 파일 (장비별 파일, 통합 Excel 파일) 을 다시 읽으면 같은 항목이 나오는지 확인
+class XlsxFileParserTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsSingleSheet() throws IOException {
+        Path output = directory.resolve("tool.xlsx");
+        new SVIDExcelWriter().write(List.of(new SVIDData("1001", "Chamber Pressure", "Torr"),
+                new SVIDData("1002", "온도", "℃")), output.toString());
+        List<String> warnings = new ArrayList<>();
+        List<SVIDData> records = SVIDRows.parse(new XlsxFileParser(), output, warnings);
+        assertEquals(List.of("1001|Chamber Pressure|Torr", "1002|온도|℃"), SVIDRows.rows(records));
+        assertEquals(List.of(), warnings);
+    }
+
+    @Test
+    void combinedWorkbookSkipsIndexAndReadsEveryToolSheet() throws IOException {
+        for (boolean indexSheet : new boolean[]{true, false}) {
+            Path output = directory.resolve("all-" + indexSheet + ".xlsx");
+            File a = directory.resolve("a.txt").toFile();
+            File b = directory.resolve("b.txt").toFile();
+            SVIDBatchWorkbook workbook = new SVIDBatchWorkbook(output.toFile(), List.of(a, b), new SVIDExcelWriter(), indexSheet);
+            // 시트는 끝난 순서로 만들어져도 입력 순서로 저장됨
+            write(workbook.open(b), new SVIDData("2001", "Flow", "sccm"), new SVIDData("", "no id", ""));
+            write(workbook.open(a), new SVIDData("1001", "Pressure", "Torr"));
+            assertEquals(2, workbook.save());
+
+            List<String> warnings = new ArrayList<>();
+            List<SVIDData> records = SVIDRows.parse(new XlsxFileParser(), output, warnings);
+            assertEquals(List.of("1001|Pressure|Torr", "2001|Flow|sccm"), SVIDRows.rows(records), "indexSheet=" + indexSheet);
+            assertEquals(List.of("b 시트 3행: SVID 가 없는 행을 건너뜁니다"), warnings);
+        }
+    }
+
+    private static void write(SVIDSink sink, SVIDData... records) throws IOException {
+        for (SVIDData data : records) {
+            sink.write(data);
+        }
+        sink.close();
+    }
+}